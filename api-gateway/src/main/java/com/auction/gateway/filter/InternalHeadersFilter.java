@@ -0,0 +1,41 @@
+package com.auction.gateway.filter;
+
+import com.auction.security.InternalClaimsSigner;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Elimina de toda petición entrante las cabeceras de identidad que solo
+ * puede poner el gateway, para que un cliente no pueda suplantar a otro
+ * usuario en las rutas sin JwtAuthenticationFilter.
+ */
+@Component
+public class InternalHeadersFilter implements GlobalFilter, Ordered {
+
+    private static final List<String> INTERNAL_HEADERS = List.of(
+            "X-User-Id", "X-User-Email", "X-User-Role", InternalClaimsSigner.HEADER);
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        boolean present = INTERNAL_HEADERS.stream().anyMatch(exchange.getRequest().getHeaders()::containsKey);
+        if (!present) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> INTERNAL_HEADERS.forEach(headers::remove))
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -1,8 +1,9 @@
 package com.auction.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.auction.gateway.security.RevokedTokenChecker;
+import com.auction.gateway.security.VerifiedToken;
+import com.auction.gateway.security.VerifiedTokenCache;
+import com.auction.security.InternalClaimsSigner;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -11,20 +12,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    private static final String SECRET_KEY = "mi_super_clave_secreta_para_jwt_2025_con_al_menos_64_caracteres_para_HS512_seguridad_completa"; // Same key as auth-service
-    private static final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenChecker revokedTokenChecker;
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, RevokedTokenChecker revokedTokenChecker) {
         super(Config.class);
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revokedTokenChecker = revokedTokenChecker;
     }
 
     @Override
@@ -46,24 +49,32 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             String token = authHeader.substring(7);
 
+            VerifiedToken verified;
             try {
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-
-                // Add user information to headers
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", claims.getSubject())
-                        .header("X-User-Email", claims.get("email", String.class))
-                        .header("X-User-Role", claims.get("role", String.class))
-                        .build();
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
+                // ✅ Verificación HS512 solo la primera vez que se ve el token
+                verified = verifiedTokenCache.verify(token);
             } catch (Exception e) {
                 return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
+
+            // Add user information to headers; los servicios confían en la cabecera firmada
+            ServerHttpRequest modifiedRequest = request.mutate()
+                    .header("X-User-Id", verified.getSubject())
+                    .header("X-User-Email", verified.getEmail())
+                    .header("X-User-Role", verified.getRole())
+                    .header(InternalClaimsSigner.HEADER, verified.getInternalClaims())
+                    .build();
+
+            ServerWebExchange authenticated = exchange.mutate().request(modifiedRequest).build();
+
+            // ✅ Revocaciones: el filtro local descarta casi todos los tokens sin salir del gateway
+            if (!revokedTokenChecker.mightBeRevoked(verified.getTokenId())) {
+                return chain.filter(authenticated);
+            }
+            return revokedTokenChecker.confirmRevoked(verified.getTokenId())
+                    .flatMap(revoked -> revoked
+                            ? onError(exchange, "Token has been revoked", HttpStatus.UNAUTHORIZED)
+                            : chain.filter(authenticated));
         };
     }
 
@@ -72,7 +83,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         return authEndpoints.stream().anyMatch(path::equals);
     }
 
-    private Mono<Void> onError(org.springframework.web.server.ServerWebExchange exchange, String err, HttpStatus httpStatus) {
+    private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(httpStatus);
         DataBuffer buffer = response.bufferFactory().wrap(err.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,139 @@
+package com.auction.gateway.security;
+
+import com.auction.security.RevocationBloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Comprobación de tokens revocados en el gateway. Se descarga de
+ * auth-service un filtro de Bloom con los identificadores revocados y se
+ * refresca periódicamente (ETag, normalmente 304). Un "no está" del filtro
+ * se resuelve en local; solo los posibles positivos se confirman con
+ * auth-service, y esa respuesta se guarda un tiempo.
+ */
+@Component
+public class RevokedTokenChecker {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient authClient;
+    private final Duration timeout;
+    private final Cache<String, Boolean> confirmedRevoked;
+    private final Cache<String, Boolean> confirmedValid;
+    private final Counter remoteChecks;
+    private final Counter rejected;
+
+    private volatile RevocationBloomFilter filter;
+    private volatile String etag;
+
+    public RevokedTokenChecker(ReactorLoadBalancerExchangeFilterFunction loadBalancer, MeterRegistry meterRegistry,
+                               @Value("${auth.revocation.serviceUri:http://auth-service}") String serviceUri,
+                               @Value("${auth.revocation.timeoutMs:2000}") long timeoutMs,
+                               @Value("${auth.revocation.cacheMaxSize:10000}") long cacheMaxSize,
+                               @Value("${auth.revocation.revokedTtlMs:300000}") long revokedTtlMs,
+                               @Value("${auth.revocation.validTtlMs:2000}") long validTtlMs) {
+        this.authClient = WebClient.builder().baseUrl(serviceUri).filter(loadBalancer).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+        // Una revocación no se deshace; un falso positivo sí puede revocarse después
+        this.confirmedRevoked = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(revokedTtlMs))
+                .build();
+        this.confirmedValid = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(validTtlMs))
+                .build();
+        this.remoteChecks = Counter.builder("gateway.revocation.remote.checks")
+                .description("Posibles positivos del filtro confirmados con auth-service")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("gateway.revocation.rejected")
+                .description("Peticiones rechazadas por token revocado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * false si el token seguro que no está revocado (respuesta local). Hasta
+     * la primera descarga del filtro no se rechaza nada, como antes de
+     * existir la comprobación.
+     */
+    public boolean mightBeRevoked(String tokenId) {
+        RevocationBloomFilter current = filter;
+        return current != null && current.mightContain(tokenId);
+    }
+
+    // Comprobación exacta de un posible positivo. Si auth-service no responde se rechaza el token
+    public Mono<Boolean> confirmRevoked(String tokenId) {
+        if (confirmedRevoked.getIfPresent(tokenId) != null) {
+            rejected.increment();
+            return Mono.just(true);
+        }
+        if (confirmedValid.getIfPresent(tokenId) != null) {
+            return Mono.just(false);
+        }
+        remoteChecks.increment();
+        return authClient.get()
+                .uri("/internal/revocations/{tokenId}", tokenId)
+                .retrieve()
+                .bodyToMono(RESPONSE_TYPE)
+                .timeout(timeout)
+                .map(response -> Boolean.TRUE.equals(response.get("revoked")))
+                .doOnNext(revoked -> (revoked ? confirmedRevoked : confirmedValid).put(tokenId, Boolean.TRUE))
+                .onErrorResume(e -> {
+                    System.err.println("Error checking token revocation: " + e.getMessage());
+                    return Mono.just(true);
+                })
+                .doOnNext(revoked -> {
+                    if (revoked) {
+                        rejected.increment();
+                    }
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshFilter();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.refreshMs:5000}", initialDelayString = "${auth.revocation.refreshMs:5000}")
+    public void refreshFilter() {
+        try {
+            String currentEtag = etag;
+            ResponseEntity<byte[]> response = authClient.get()
+                    .uri("/internal/revocations/filter")
+                    .headers(headers -> {
+                        if (currentEtag != null) {
+                            headers.setIfNoneMatch(currentEtag);
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(byte[].class)
+                    .block(timeout);
+            if (response == null || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                    || response.getBody() == null) {
+                return;
+            }
+            filter = RevocationBloomFilter.fromByteArray(response.getBody());
+            etag = response.getHeaders().getETag();
+        } catch (Exception e) {
+            // Se mantiene el último filtro descargado
+            System.err.println("Error refreshing revocation filter: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.auction.gateway.security;
+
+import java.time.Instant;
+
+/**
+ * Resultado de verificar un JWT en el gateway: los claims que se propagan
+ * a los servicios y la cabecera interna ya firmada para ellos.
+ */
+public class VerifiedToken {
+    private final String tokenId;
+    private final String subject;
+    private final String role;
+    private final String email;
+    private final Instant expiresAt;
+    private final String internalClaims;
+
+    public VerifiedToken(String tokenId, String subject, String role, String email, Instant expiresAt,
+                         String internalClaims) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.role = role;
+        this.email = email;
+        this.expiresAt = expiresAt;
+        this.internalClaims = internalClaims;
+    }
+
+    // TokenDigest del token: el identificador con el que auth-service guarda las revocaciones
+    public String getTokenId() { return tokenId; }
+    public String getSubject() { return subject; }
+    public String getRole() { return role; }
+    public String getEmail() { return email; }
+
+    // null si el token no declara exp
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public String getInternalClaims() { return internalClaims; }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
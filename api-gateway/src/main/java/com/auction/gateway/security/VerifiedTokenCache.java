@@ -0,0 +1,96 @@
+package com.auction.gateway.security;
+
+import com.auction.security.InternalClaimsSigner;
+import com.auction.security.JwtTokenParser;
+import com.auction.security.TokenClaims;
+import com.auction.security.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché acotada de JWT ya verificados, indexada por el SHA-256 del token.
+ * Cada entrada caduca con el exp del propio token, así que un token
+ * caducado nunca se acepta desde la caché. Solo se guardan tokens válidos.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenParser parser;
+    private final InternalClaimsSigner signer;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtTokenParser parser, InternalClaimsSigner signer,
+                              @Value("${auth.tokenCache.maxSize:10000}") long maxSize,
+                              @Value("${auth.tokenCache.maxTtlMs:3600000}") long maxTtlMs) {
+        this.parser = parser;
+        this.signer = signer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtlMs))
+                .build();
+    }
+
+    /**
+     * Devuelve los claims del token, verificándolo solo si no está en caché.
+     * Lanza JwtException (o IllegalArgumentException) si el token no es válido.
+     */
+    public VerifiedToken verify(String token) {
+        String key = TokenDigest.sha256(token);
+        VerifiedToken verified = cache.get(key, k -> parse(token, k));
+        // La caché puede tardar en expulsar la entrada: comprobar exp igualmente
+        if (verified.isExpired(Instant.now())) {
+            cache.invalidate(key);
+            return parse(token, key);
+        }
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.sha256(token));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private VerifiedToken parse(String token, String tokenId) {
+        TokenClaims claims = parser.parse(token);
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return new VerifiedToken(tokenId, claims.getUsername(), claims.getRole(), claims.getEmail(), expiresAt,
+                signer.sign(claims.getUsername(), claims.getRole(), claims.getEmail(), expiresAt));
+    }
+
+    // Vida de cada entrada: hasta el exp del token, con un máximo para tokens sin exp
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        private final long maxTtlMs;
+
+        TokenExpiry(long maxTtlMs) {
+            this.maxTtlMs = maxTtlMs;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long ttlMs = maxTtlMs;
+            if (value.getExpiresAt() != null) {
+                ttlMs = Math.min(ttlMs, value.getExpiresAt().toEpochMilli() - System.currentTimeMillis());
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
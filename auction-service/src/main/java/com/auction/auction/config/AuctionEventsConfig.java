@@ -0,0 +1,27 @@
+package com.auction.auction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuctionEventsConfig {
+
+    @Value("${rabbitmq.exchange.auction}")
+    private String auctionExchange;
+
+    // Exchange durable donde se publican los cambios de estado de las subastas
+    @Bean
+    public TopicExchange auctionEventsExchange() {
+        return new TopicExchange(auctionExchange, true, false);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
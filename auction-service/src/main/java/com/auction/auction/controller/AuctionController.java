@@ -1,27 +1,45 @@
 package com.auction.auction.controller;
 
+import com.auction.auction.dto.AuctionCursorPageDto;
+import com.auction.auction.dto.AuctionPageDto;
 import com.auction.auction.dto.AuctionRequest;
 import com.auction.auction.dto.ExtendAuctionRequest;
+import com.auction.auction.exception.BusinessRuleException;
 import com.auction.auction.model.Auction;
 import com.auction.auction.service.AuctionService;
 import com.auction.auction.security.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/subastas")
 public class AuctionController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AuctionService auctionService;
     private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AuctionController(AuctionService auctionService, JwtUtils jwtUtils) {
+    public AuctionController(AuctionService auctionService, JwtUtils jwtUtils, ObjectMapper objectMapper) {
         this.auctionService = auctionService;
         this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -49,6 +67,49 @@ public class AuctionController {
         List<Auction> auctions = auctionService.getAllAuctions();
         return new ResponseEntity<>(auctions, HttpStatus.OK);
     }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<AuctionPageDto> getAuctionPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        if (page < 0 || size < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        AuctionPageDto auctionPage = auctionService.getAuctionPage(page, Math.min(size, MAX_PAGE_SIZE));
+        return new ResponseEntity<>(auctionPage, HttpStatus.OK);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAuctionsAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) String itemCategory,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince) {
+        try {
+            AuctionCursorPageDto auctionPage = auctionService.getAuctionsAfter(cursor, limit, estado, itemCategory, modifiedSince);
+            return new ResponseEntity<>(auctionPage, HttpStatus.OK);
+        } catch (BusinessRuleException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "error", "VALIDATION_ERROR",
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    // Una subasta JSON por línea, escrita a medida que se lee del cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAuctions(
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) String itemCategory,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince) {
+        ObjectWriter writer = objectMapper.writerFor(Auction.class);
+        StreamingResponseBody body = outputStream -> {
+            auctionService.exportAuctions(estado, itemCategory, modifiedSince, auction -> writeLine(writer, outputStream, auction));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
     @GetMapping("/{id}")
     public ResponseEntity<Auction> getAuctionById(@PathVariable Long id) {
         Auction auction = auctionService.getAuctionById(id);
@@ -204,4 +265,13 @@ public class AuctionController {
         boolean exists = auction != null;
         return new ResponseEntity<>(exists, HttpStatus.OK);
     }
+
+    private void writeLine(ObjectWriter writer, OutputStream outputStream, Auction auction) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(auction));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.auction.auction.dto;
+
+import com.auction.auction.model.Auction;
+
+import java.util.List;
+
+public class AuctionCursorPageDto {
+    private List<Auction> auctions;
+    private String nextCursor;
+
+    public AuctionCursorPageDto() {}
+
+    public AuctionCursorPageDto(List<Auction> auctions, String nextCursor) {
+        this.auctions = auctions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Auction> getAuctions() { return auctions; }
+    public void setAuctions(List<Auction> auctions) { this.auctions = auctions; }
+
+    // null cuando no hay más resultados
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,39 @@
+package com.auction.auction.dto;
+
+import com.auction.auction.model.Auction;
+
+import java.util.List;
+
+// Página de subastas ordenada por auctionId, usada para reconstrucciones completas
+public class AuctionPageDto {
+    private List<Auction> auctions;
+    private int page;
+    private int size;
+    private int totalPages;
+    private long totalElements;
+
+    public AuctionPageDto() {}
+
+    public AuctionPageDto(List<Auction> auctions, int page, int size, int totalPages, long totalElements) {
+        this.auctions = auctions;
+        this.page = page;
+        this.size = size;
+        this.totalPages = totalPages;
+        this.totalElements = totalElements;
+    }
+
+    public List<Auction> getAuctions() { return auctions; }
+    public void setAuctions(List<Auction> auctions) { this.auctions = auctions; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+}
@@ -4,4 +4,8 @@ public class BusinessRuleException extends RuntimeException {
     public BusinessRuleException(String message) {
         super(message);
     }
+
+    public BusinessRuleException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -5,7 +5,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "auctions")
+@Table(name = "auctions", indexes = {
+        // Un índice por filtro, terminado en el orden del keyset de esa consulta (AuctionRepositoryCustom)
+        @Index(name = "idx_auctions_estado", columnList = "estado, auction_id"),
+        @Index(name = "idx_auctions_category", columnList = "item_category, auction_id"),
+        @Index(name = "idx_auctions_updated", columnList = "updated_at, auction_id")
+})
 public class Auction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +27,17 @@ public class Auction {
     private BigDecimal incrementoMinimo;
     private LocalDateTime fechaInicio;
     private LocalDateTime fechaFin;
+    private LocalDateTime updatedAt;
+    // Id del último evento de la subasta en el outbox; lo escribe AuctionEventOutbox, nunca la entidad
+    @Column(insertable = false, updatable = false)
+    private Long lastEventId;
+
+    // Marca de modificación para las exportaciones incrementales ("modificadas desde")
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 
     public String getEstado() { return estado; }
     public void setEstado(String estado) { this.estado = estado; }
@@ -53,4 +69,9 @@ public class Auction {
     
     public LocalDateTime getFechaFin() { return fechaFin; }
     public void setFechaFin(LocalDateTime fechaFin) { this.fechaFin = fechaFin; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
 }
@@ -0,0 +1,16 @@
+package com.auction.auction.model;
+
+import com.auction.outbox.OutboxEventBase;
+import jakarta.persistence.*;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ. Se escribe en la misma transacción
+ * que el cambio de la subasta y lo publica AuctionOutboxRelay (al menos una vez,
+ * en orden de id, por lo que los eventos de una subasta conservan su orden).
+ */
+@Entity
+@Table(name = "auction_outbox", indexes = {
+        @Index(name = "idx_auction_outbox_pending", columnList = "published_at, id")
+})
+public class OutboxEvent extends OutboxEventBase {
+}
@@ -2,9 +2,17 @@ package com.auction.auction.repository;
 
 import com.auction.auction.model.Auction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+// ✅ Páginas keyset y exportación con filtros opcionales: ver AuctionRepositoryCustom
 @Repository
-public interface AuctionRepository extends JpaRepository<Auction, Long> {
-    // Métodos personalizados si los necesitas
+public interface AuctionRepository extends JpaRepository<Auction, Long>, AuctionRepositoryCustom {
+
+    // El snapshot de una subasta lleva el id de su último evento: las reconstrucciones no pisan eventos más nuevos
+    @Modifying
+    @Query("UPDATE Auction a SET a.lastEventId = :eventId WHERE a.auctionId = :auctionId")
+    int updateLastEventId(@Param("auctionId") Long auctionId, @Param("eventId") Long eventId);
 }
@@ -0,0 +1,25 @@
+package com.auction.auction.repository;
+
+import com.auction.auction.model.Auction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de exportación con filtros opcionales. Cada combinación de
+ * filtros genera su propia consulta, sin predicados "(:p IS NULL OR ...)",
+ * para que la base de datos pueda usar el índice que encaja con ella.
+ *
+ * Sin modifiedSince el orden (y el keyset) es auctionId; con modifiedSince
+ * es (updatedAt, auctionId), el orden del índice idx_auctions_updated.
+ */
+public interface AuctionRepositoryCustom {
+
+    // afterUpdatedAt solo se usa con modifiedSince; afterId null = primera página
+    List<Auction> findPageAfter(Long afterId, LocalDateTime afterUpdatedAt, String estado, String itemCategory,
+                                LocalDateTime modifiedSince, int limit);
+
+    // Cursor de base de datos para exportar: requiere una transacción abierta mientras se consume
+    Stream<Auction> streamForExport(String estado, String itemCategory, LocalDateTime modifiedSince);
+}
@@ -0,0 +1,83 @@
+package com.auction.auction.repository;
+
+import com.auction.auction.model.Auction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public class AuctionRepositoryImpl implements AuctionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Auction> findPageAfter(Long afterId, LocalDateTime afterUpdatedAt, String estado, String itemCategory,
+                                       LocalDateTime modifiedSince, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        addFilters(conditions, parameters, estado, itemCategory, modifiedSince);
+        if (afterId != null) {
+            if (modifiedSince != null) {
+                // Keyset (updatedAt, auctionId); la primera condición acota el rango del índice
+                conditions.add("a.updatedAt >= :afterUpdatedAt");
+                conditions.add("(a.updatedAt > :afterUpdatedAt OR a.auctionId > :afterId)");
+                parameters.put("afterUpdatedAt", afterUpdatedAt);
+            } else {
+                conditions.add("a.auctionId > :afterId");
+            }
+            parameters.put("afterId", afterId);
+        }
+        return query(conditions, parameters, modifiedSince != null)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Auction> streamForExport(String estado, String itemCategory, LocalDateTime modifiedSince) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        addFilters(conditions, parameters, estado, itemCategory, modifiedSince);
+        return query(conditions, parameters, modifiedSince != null)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void addFilters(List<String> conditions, Map<String, Object> parameters,
+                            String estado, String itemCategory, LocalDateTime modifiedSince) {
+        if (estado != null) {
+            conditions.add("a.estado = :estado");
+            parameters.put("estado", estado);
+        }
+        if (itemCategory != null) {
+            conditions.add("a.itemCategory = :itemCategory");
+            parameters.put("itemCategory", itemCategory);
+        }
+        if (modifiedSince != null) {
+            conditions.add("a.updatedAt >= :modifiedSince");
+            parameters.put("modifiedSince", modifiedSince);
+        }
+    }
+
+    private TypedQuery<Auction> query(List<String> conditions, Map<String, Object> parameters, boolean byUpdatedAt) {
+        StringBuilder jpql = new StringBuilder("SELECT a FROM Auction a");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(byUpdatedAt ? " ORDER BY a.updatedAt ASC, a.auctionId ASC" : " ORDER BY a.auctionId ASC");
+
+        TypedQuery<Auction> query = entityManager.createQuery(jpql.toString(), Auction.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
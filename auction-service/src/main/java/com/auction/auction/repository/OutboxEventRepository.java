@@ -0,0 +1,9 @@
+package com.auction.auction.repository;
+
+import com.auction.auction.model.OutboxEvent;
+import com.auction.outbox.OutboxRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends OutboxRepository<OutboxEvent> {
+}
@@ -1,5 +1,9 @@
 package com.auction.auction.security;
 
+import com.auction.security.InternalClaimsVerifier;
+import com.auction.security.authz.RouteAuthorizationTable;
+import com.auction.security.authz.ServiceRoutes;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,13 +13,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
 
+    // ✅ Tabla de rutas compilada una sola vez: GET para cualquier usuario autenticado, escritura solo Moderador y Administrador
+    private static final RouteAuthorizationTable ROUTES = ServiceRoutes.AUCTION_SERVICE;
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private InternalClaimsVerifier internalClaimsVerifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -23,16 +38,15 @@ public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
         String requestPath = request.getRequestURI();
         String method = request.getMethod();
         
-        // Obtener token
-        String token = parseJwt(request);
-        if (token != null && jwtUtils.validateJwtToken(token)) {
-            String userRole = jwtUtils.getRoleFromJwtToken(token);
+        // Rol firmado por el API Gateway; sin esa cabecera se verifica el JWT
+        InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+        String token = claims == null ? parseJwt(request) : null;
+        if (claims != null || (token != null && jwtUtils.validateJwtToken(token))) {
+            String userRole = claims != null ? claims.getRole() : jwtUtils.getRoleFromJwtToken(token);
             
             // Validar acceso por rol
-            if (!hasRequiredRole(requestPath, method, userRole)) {
-                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Insufficient permissions\", \"requiredRole\":\"" + getRequiredRole(requestPath, method) + "\", \"userRole\":\"" + userRole + "\", \"service\":\"auction-service\"}");
+            if (!ROUTES.isAllowed(requestPath, method, userRole)) {
+                writeForbidden(response, requestPath, method, userRole);
                 return;
             }
         }
@@ -40,46 +54,15 @@ public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean hasRequiredRole(String path, String method, String userRole) {
-        // Endpoints públicos
-        if (isPublicEndpoint(path)) {
-            return true;
-        }
-
-        // Si no hay rol en el token, solo permitir endpoints públicos
-        if (userRole == null) {
-            return false;
-        }
-
-        // Endpoints de subastas/productos - Solo Moderador y Administrador
-        if (path.contains("/auctions") || path.contains("/products") || path.contains("/subastas")) {
-            // GET requests - cualquier usuario autenticado puede ver
-            if ("GET".equals(method)) {
-                return "PARTICIPANTE".equals(userRole) || "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
-            }
-            // POST, PUT, DELETE - solo MODERADOR y ADMINISTRADOR
-            return "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
-        }
-
-        return true; // Otros endpoints no restringidos
-    }
-
-    private String getRequiredRole(String path, String method) {
-        if (path.contains("/auctions") || path.contains("/products") || path.contains("/subastas")) {
-            if ("GET".equals(method)) {
-                return "PARTICIPANTE";
-            }
-            return "MODERADOR";
-        }
-        return "NONE";
-    }
-
-    private boolean isPublicEndpoint(String path) {
-        return path.equals("/") || 
-               path.startsWith("/health") ||
-               path.startsWith("/actuator") ||
-               path.startsWith("/swagger") ||
-               path.startsWith("/v3/api-docs");
+    private void writeForbidden(HttpServletResponse response, String path, String method, String userRole) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "Insufficient permissions");
+        body.put("requiredRole", ROUTES.requiredRole(path, method));
+        body.put("userRole", userRole);
+        body.put("service", "auction-service");
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType("application/json");
+        objectMapper.writeValue(response.getWriter(), body);
     }
 
     private String parseJwt(HttpServletRequest request) {
@@ -0,0 +1,83 @@
+package com.auction.auction.service;
+
+import com.auction.auction.dto.AuctionEventDto;
+import com.auction.auction.model.Auction;
+import com.auction.auction.model.OutboxEvent;
+import com.auction.auction.repository.AuctionRepository;
+import com.auction.auction.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra los cambios de estado de las subastas en el outbox. Se ejecuta
+ * dentro de la transacción del servicio, así que el evento existe si y solo
+ * si el cambio se guardó; AuctionOutboxRelay lo publica después.
+ */
+@Component
+public class AuctionEventOutbox {
+
+    public static final String CREATED = "created";
+    public static final String STARTED = "started";
+    public static final String FINISHED = "finished";
+    public static final String EXTENDED = "extended";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String MODERATOR_JOINED = "moderator-joined";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AuctionRepository auctionRepository;
+    private final ObjectMapper objectMapper;
+
+    public AuctionEventOutbox(OutboxEventRepository outboxEventRepository, AuctionRepository auctionRepository,
+                              ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.auctionRepository = auctionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String eventType, Auction auction) {
+        record(toEvent(eventType, auction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AuctionEventDto event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(event.getAuctionId());
+        outboxEvent.setEventType("auction." + event.getEventType());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(event.getOccurredAt());
+        outboxEventRepository.save(outboxEvent);
+        auctionRepository.updateLastEventId(event.getAuctionId(), outboxEvent.getId());
+    }
+
+    public static AuctionEventDto toEvent(String eventType, Auction auction) {
+        AuctionEventDto event = new AuctionEventDto();
+        event.setEventType(eventType);
+        event.setAuctionId(auction.getAuctionId());
+        event.setDescription(auction.getDescription());
+        event.setItemCategory(auction.getItemCategory());
+        event.setOwnerUsername(auction.getOwnerUsername());
+        event.setEstado(auction.getEstado());
+        event.setStartingPrice(auction.getStartingPrice());
+        event.setPrecioActual(auction.getPrecioActual());
+        event.setIncrementoMinimo(auction.getIncrementoMinimo());
+        event.setFechaInicio(auction.getFechaInicio());
+        event.setFechaFin(auction.getFechaFin());
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+
+    private String toJson(AuctionEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing auction event", e);
+        }
+    }
+}
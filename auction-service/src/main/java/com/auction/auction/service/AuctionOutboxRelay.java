@@ -0,0 +1,42 @@
+package com.auction.auction.service;
+
+import com.auction.auction.model.OutboxEvent;
+import com.auction.auction.repository.OutboxEventRepository;
+import com.auction.outbox.OutboxRelay;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publica el outbox de auction-service con el relay compartido (outbox-common):
+ * por lotes, con publisher confirms y al menos una vez, en orden de id.
+ */
+@Component
+public class AuctionOutboxRelay {
+
+    private final OutboxRelay<OutboxEvent> relay;
+
+    @Value("${auctions.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public AuctionOutboxRelay(OutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                          @Value("${rabbitmq.exchange.auction}") String auctionExchange,
+                          @Value("${auctions.outbox.batch-size:200}") int batchSize,
+                          @Value("${auctions.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.relay = new OutboxRelay<>(outboxEventRepository, rabbitTemplate, auctionExchange, "auction",
+                batchSize, confirmTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${auctions.outbox.relay-ms:100}")
+    public void relay() {
+        relay.relay();
+    }
+
+    @Scheduled(fixedDelayString = "${auctions.outbox.purge-ms:3600000}")
+    public void purgePublished() {
+        relay.purgePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
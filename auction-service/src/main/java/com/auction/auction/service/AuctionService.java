@@ -1,12 +1,19 @@
 package com.auction.auction.service;
 
+import com.auction.auction.dto.AuctionCursorPageDto;
+import com.auction.auction.dto.AuctionPageDto;
 import com.auction.auction.dto.AuctionRequest;
 import com.auction.auction.model.Auction;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AuctionService {
     Auction createAuction(AuctionRequest auctionRequest, String ownerUsername);
     List<Auction> getAllAuctions();
+    AuctionPageDto getAuctionPage(int page, int size);
+    AuctionCursorPageDto getAuctionsAfter(String cursor, int limit, String estado, String itemCategory, LocalDateTime modifiedSince);
+    void exportAuctions(String estado, String itemCategory, LocalDateTime modifiedSince, Consumer<Auction> consumer);
     void deleteAuction(Long id);
     Auction updateAuction(Long id, AuctionRequest auctionRequest);
     Auction getAuctionById(Long id);
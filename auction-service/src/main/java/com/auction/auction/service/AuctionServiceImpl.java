@@ -1,34 +1,49 @@
 package com.auction.auction.service;
 
-import com.auction.auction.client.NotificationServiceClient;
+import com.auction.auction.dto.AuctionCursorPageDto;
+import com.auction.auction.dto.AuctionEventDto;
+import com.auction.auction.dto.AuctionPageDto;
 import com.auction.auction.dto.AuctionRequest;
-import com.auction.auction.dto.AuctionExtendedEventDto;
-import com.auction.auction.dto.ModeratorJoinedEventDto;
-import com.auction.auction.dto.AuctionFinishedEventDto;
+import com.auction.auction.exception.BusinessRuleException;
 import com.auction.auction.model.Auction;
 import com.auction.auction.repository.AuctionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AuctionServiceImpl implements AuctionService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String CURSOR_SEPARATOR = ",";
+
     private final AuctionRepository auctionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Autowired
-    private NotificationServiceClient notificationServiceClient;
+    private AuctionEventOutbox auctionEventOutbox;
 
     public AuctionServiceImpl(AuctionRepository auctionRepository) {
         this.auctionRepository = auctionRepository;
     }
 
     @Override
+    @Transactional
     public Auction createAuction(AuctionRequest auctionRequest, String ownerUsername) {
         Auction auction = new Auction();
         auction.setDescription(auctionRequest.getDescription());
@@ -37,7 +52,9 @@ public class AuctionServiceImpl implements AuctionService {
         auction.setItemCategory(auctionRequest.getItemCategory());
         auction.setDaysToEndTime(auctionRequest.getDaysToEndTime());
         auction.setOwnerUsername(ownerUsername);
-        return auctionRepository.save(auction);
+        Auction savedAuction = auctionRepository.save(auction);
+        auctionEventOutbox.record(AuctionEventOutbox.CREATED, savedAuction);
+        return savedAuction;
     }
 
     @Override
@@ -46,11 +63,100 @@ public class AuctionServiceImpl implements AuctionService {
     }
 
     @Override
+    public AuctionPageDto getAuctionPage(int page, int size) {
+        // Orden estable por id para que páginas pedidas en paralelo no se solapen
+        Page<Auction> auctionPage = auctionRepository.findAll(
+                PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "auctionId")));
+        return new AuctionPageDto(auctionPage.getContent(), page, size,
+                auctionPage.getTotalPages(), auctionPage.getTotalElements());
+    }
+
+    @Override
+    public AuctionCursorPageDto getAuctionsAfter(String cursor, int limit, String estado, String itemCategory,
+                                                 LocalDateTime modifiedSince) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Con modifiedSince el orden es (updatedAt, auctionId) y el cursor lleva ambos valores
+        String[] position = decodeCursor(cursor, modifiedSince != null);
+        Long afterId = position != null ? parseId(position[position.length - 1]) : null;
+        LocalDateTime afterUpdatedAt = position != null && position.length == 2 ? parseUpdatedAt(position[0]) : null;
+
+        List<Auction> auctions = auctionRepository.findPageAfter(afterId, afterUpdatedAt,
+                emptyToNull(estado), emptyToNull(itemCategory), modifiedSince, pageSize);
+        String nextCursor = auctions.size() == pageSize
+                ? encodeCursor(auctions.get(auctions.size() - 1), modifiedSince != null) : null;
+        return new AuctionCursorPageDto(auctions, nextCursor);
+    }
+
+    // Recorre el cursor de base de datos desacoplando cada subasta: la memoria no depende del total
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuctions(String estado, String itemCategory, LocalDateTime modifiedSince,
+                               Consumer<Auction> consumer) {
+        try (Stream<Auction> auctions = auctionRepository.streamForExport(
+                emptyToNull(estado), emptyToNull(itemCategory), modifiedSince)) {
+            auctions.forEach(auction -> {
+                consumer.accept(auction);
+                entityManager.detach(auction);
+            });
+        }
+    }
+
+    private String encodeCursor(Auction last, boolean byUpdatedAt) {
+        String position = byUpdatedAt
+                ? last.getUpdatedAt() + CURSOR_SEPARATOR + last.getAuctionId()
+                : last.getAuctionId().toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null en la primera página; un cursor de otro orden (con o sin modifiedSince) no es válido
+    private String[] decodeCursor(String cursor, boolean byUpdatedAt) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Cursor de paginación inválido", e);
+        }
+        if (position.length != (byUpdatedAt ? 2 : 1)) {
+            throw new BusinessRuleException("Cursor de paginación inválido");
+        }
+        return position;
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessRuleException("Cursor de paginación inválido", e);
+        }
+    }
+
+    private LocalDateTime parseUpdatedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BusinessRuleException("Cursor de paginación inválido", e);
+        }
+    }
+
+    private String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    @Override
+    @Transactional
     public void deleteAuction(Long id) {
-        auctionRepository.deleteById(id);
+        auctionRepository.findById(id).ifPresent(auction -> {
+            auctionRepository.delete(auction);
+            auctionEventOutbox.record(AuctionEventOutbox.DELETED, auction);
+        });
     }
 
     @Override
+    @Transactional
     public Auction updateAuction(Long id, AuctionRequest auctionRequest) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
         if (auctionOpt.isPresent()) {
@@ -60,7 +166,9 @@ public class AuctionServiceImpl implements AuctionService {
             auction.setItemStatus(auctionRequest.getItemStatus());
             auction.setItemCategory(auctionRequest.getItemCategory());
             auction.setDaysToEndTime(auctionRequest.getDaysToEndTime());
-            return auctionRepository.save(auction);
+            Auction savedAuction = auctionRepository.save(auction);
+            auctionEventOutbox.record(AuctionEventOutbox.UPDATED, savedAuction);
+            return savedAuction;
         }
         return null;
     }
@@ -71,54 +179,56 @@ public class AuctionServiceImpl implements AuctionService {
     }
 
     @Override
+    @Transactional
     public Auction startAuction(Long id, String ownerUsername) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
         if (auctionOpt.isPresent()) {
             Auction auction = auctionOpt.get();
             if (auction.getOwnerUsername().equals(ownerUsername)) {
                 auction.setEstado("activa");
-                return auctionRepository.save(auction);
+                Auction savedAuction = auctionRepository.save(auction);
+                auctionEventOutbox.record(AuctionEventOutbox.STARTED, savedAuction);
+                return savedAuction;
             }
         }
         return null;
     }
 
     @Override
+    @Transactional
     public Auction endAuction(Long id, String ownerUsername) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
         if (auctionOpt.isPresent()) {
             Auction auction = auctionOpt.get();
             if (auction.getOwnerUsername().equals(ownerUsername)) {
                 auction.setEstado("finalizada");
-                return auctionRepository.save(auction);
+                Auction savedAuction = auctionRepository.save(auction);
+                auctionEventOutbox.record(AuctionEventOutbox.FINISHED, savedAuction);
+                return savedAuction;
             }
         }
         return null;
     }
 
     @Override
+    @Transactional
     public Auction extendAuction(Long id, int minutes, String ownerUsername) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
         if (auctionOpt.isPresent()) {
             Auction auction = auctionOpt.get();
             if (auction.getOwnerUsername().equals(ownerUsername)) {
-                LocalDateTime newEndTime = LocalDateTime.now().plusMinutes(minutes);
+                // Se extiende el fin actual; solo si no tiene fin se cuenta desde ahora
+                LocalDateTime currentEndTime = auction.getFechaFin() != null ? auction.getFechaFin() : LocalDateTime.now();
+                LocalDateTime newEndTime = currentEndTime.plusMinutes(minutes);
                 auction.setDaysToEndTime(auction.getDaysToEndTime() + (minutes / 1440)); // Convert minutes to days
+                auction.setFechaFin(newEndTime);
                 
                 Auction savedAuction = auctionRepository.save(auction);
                 
-                // Notificar extensión
-                try {
-                    String token = getAuthorizationToken();
-                    AuctionExtendedEventDto eventDto = new AuctionExtendedEventDto();
-                    eventDto.setAuctionId(id.toString());
-                    eventDto.setNewEndTime(newEndTime);
-                    eventDto.setMinutesAdded(minutes);
-                    
-                    notificationServiceClient.broadcastAuctionExtended(eventDto, token);
-                } catch (Exception e) {
-                    System.err.println("Error notifying auction extension: " + e.getMessage());
-                }
+                // Notificar extensión (vía outbox)
+                AuctionEventDto event = AuctionEventOutbox.toEvent(AuctionEventOutbox.EXTENDED, savedAuction);
+                event.setMinutesAdded(minutes);
+                auctionEventOutbox.record(event);
                 
                 return savedAuction;
             }
@@ -127,23 +237,16 @@ public class AuctionServiceImpl implements AuctionService {
     }
 
     @Override
+    @Transactional
     public boolean joinModerationSession(Long id, String ownerUsername) {
         Optional<Auction> auctionOpt = auctionRepository.findById(id);
         if (auctionOpt.isPresent()) {
             Auction auction = auctionOpt.get();
             if (auction.getOwnerUsername().equals(ownerUsername)) {
-                // Notificar que el moderador se unió
-                try {
-                    String token = getAuthorizationToken();
-                    ModeratorJoinedEventDto eventDto = new ModeratorJoinedEventDto();
-                    eventDto.setAuctionId(id.toString());
-                    eventDto.setModeratorName(ownerUsername);
-                    eventDto.setJoinTime(LocalDateTime.now());
-                    
-                    notificationServiceClient.broadcastModeratorJoined(eventDto, token);
-                } catch (Exception e) {
-                    System.err.println("Error notifying moderator join: " + e.getMessage());
-                }
+                // Notificar que el moderador se unió (vía outbox)
+                AuctionEventDto event = AuctionEventOutbox.toEvent(AuctionEventOutbox.MODERATOR_JOINED, auction);
+                event.setModeratorName(ownerUsername);
+                auctionEventOutbox.record(event);
                 return true;
             }
         }
@@ -159,13 +262,4 @@ public class AuctionServiceImpl implements AuctionService {
         }
         return false;
     }
-    
-    private String getAuthorizationToken() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            return request.getHeader("Authorization");
-        }
-        return "";
-    }
 }
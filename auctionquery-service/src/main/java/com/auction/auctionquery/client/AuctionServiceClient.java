@@ -1,7 +1,10 @@
 package com.auction.auctionquery.client;
 
+import com.auction.auctionquery.dto.AuctionPageDto;
+import com.auction.security.InternalClaimsSigner;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -15,4 +18,15 @@ public interface AuctionServiceClient {
 
     @GetMapping("/subastas/sync")
     List<Object> getAllAuctionsForSync(@RequestHeader("Authorization") String token);
-}
\ No newline at end of file
+
+    // Las reconstrucciones se autentican con la credencial del propio servicio (X-Internal-Claims)
+    @GetMapping("/subastas/pagina")
+    AuctionPageDto getAuctionPage(@RequestHeader(InternalClaimsSigner.HEADER) String internalClaims,
+                                  @RequestParam("page") int page,
+                                  @RequestParam("size") int size);
+
+    // 404 (FeignException.NotFound) si la subasta ya no existe
+    @GetMapping("/subastas/{id}")
+    Object getAuction(@RequestHeader(InternalClaimsSigner.HEADER) String internalClaims,
+                      @PathVariable("id") Long id);
+}
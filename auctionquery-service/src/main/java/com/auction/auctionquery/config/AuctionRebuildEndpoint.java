@@ -0,0 +1,25 @@
+package com.auction.auctionquery.config;
+
+import com.auction.auctionquery.service.AuctionSyncService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/auctionrebuild: progreso y rendimiento de la última reconstrucción
+@Component
+@Endpoint(id = "auctionrebuild")
+public class AuctionRebuildEndpoint {
+
+    private final AuctionSyncService auctionSyncService;
+
+    public AuctionRebuildEndpoint(AuctionSyncService auctionSyncService) {
+        this.auctionSyncService = auctionSyncService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return auctionSyncService.getProgress();
+    }
+}
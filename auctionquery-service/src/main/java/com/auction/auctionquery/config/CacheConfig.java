@@ -0,0 +1,33 @@
+package com.auction.auctionquery.config;
+
+import com.auction.auctionquery.model.AuctionView;
+import com.auction.auctionquery.service.AuctionListingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    // Páginas del listado de subastas activas: TTL corto como red de seguridad,
+    // la invalidación real llega con los eventos que cambian la vista (cache=listings)
+    @Bean
+    public Cache<AuctionListingCache.ListingKey, List<AuctionView>> listingCache(
+            MeterRegistry meterRegistry,
+            @Value("${listings.cache.max-size:2000}") long maxSize,
+            @Value("${listings.cache.ttl-ms:5000}") long ttlMs) {
+        Cache<AuctionListingCache.ListingKey, List<AuctionView>> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "listings");
+    }
+}
@@ -0,0 +1,81 @@
+package com.auction.auctionquery.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Colas durables de la proyección: mientras el servicio está caído los
+ * eventos se acumulan en el broker y se aplican al volver a arrancar.
+ * El índice de búsqueda vive en memoria en cada réplica, así que cada una
+ * recibe todos los eventos de subasta por su propia cola anónima.
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    @Value("${rabbitmq.exchange.auction}")
+    private String auctionExchange;
+
+    @Value("${rabbitmq.exchange.bid}")
+    private String bidExchange;
+
+    @Value("${rabbitmq.queue.auction-events}")
+    private String auctionEventsQueue;
+
+    @Value("${rabbitmq.queue.bid-events}")
+    private String bidEventsQueue;
+
+    @Bean
+    public TopicExchange auctionEventsExchange() {
+        return new TopicExchange(auctionExchange, true, false);
+    }
+
+    @Bean
+    public TopicExchange bidEventsExchange() {
+        return new TopicExchange(bidExchange, true, false);
+    }
+
+    @Bean
+    public Queue auctionEventsQueue() {
+        return new Queue(auctionEventsQueue, true);
+    }
+
+    @Bean
+    public Queue bidEventsQueue() {
+        return new Queue(bidEventsQueue, true);
+    }
+
+    // Exclusiva y auto-delete: desaparece con la réplica, que reconstruye su índice al arrancar
+    @Bean
+    public Queue searchIndexEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding auctionEventsBinding(Queue auctionEventsQueue, TopicExchange auctionEventsExchange) {
+        return BindingBuilder.bind(auctionEventsQueue).to(auctionEventsExchange).with("auction.#");
+    }
+
+    @Bean
+    public Binding searchIndexEventsBinding(Queue searchIndexEventsQueue, TopicExchange auctionEventsExchange) {
+        return BindingBuilder.bind(searchIndexEventsQueue).to(auctionEventsExchange).with("auction.#");
+    }
+
+    @Bean
+    public Binding bidEventsBinding(Queue bidEventsQueue, TopicExchange bidEventsExchange) {
+        return BindingBuilder.bind(bidEventsQueue).to(bidEventsExchange).with("bid.placed");
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
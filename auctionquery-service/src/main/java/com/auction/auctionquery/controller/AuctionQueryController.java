@@ -1,5 +1,6 @@
 package com.auction.auctionquery.controller;
 
+import com.auction.auctionquery.dto.AuctionSearchResultDto;
 import com.auction.auctionquery.model.AuctionView;
 import com.auction.auctionquery.service.AuctionQueryService;
 import com.auction.auctionquery.security.JwtUtils;
@@ -7,7 +8,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/subastas")
@@ -32,6 +35,9 @@ public class AuctionQueryController {
         if (!jwtUtils.validateJwtToken(token)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (page < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
 
         List<AuctionView> auctions = auctionQueryService.getActiveAuctions(categoria, page, limit);
         return ResponseEntity.ok(auctions);
@@ -63,11 +69,49 @@ public class AuctionQueryController {
         if (!jwtUtils.validateJwtToken(token)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (page < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
 
         List<AuctionView> auctions = auctionQueryService.searchAuctions(searchTerm, categoria, page, limit);
         return ResponseEntity.ok(auctions);
     }
 
+    // Búsqueda por relevancia con conteo de resultados por categoría
+    @GetMapping("/search/ranked")
+    public ResponseEntity<AuctionSearchResultDto> searchAuctionsRanked(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+
+        String token = extractToken(request);
+        if (!jwtUtils.validateJwtToken(token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (page < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AuctionSearchResultDto result = auctionQueryService.searchAuctionsRanked(searchTerm, categoria, page, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    // Facetas de categoría para el listado: total de subastas activas y conteo por categoría
+    @GetMapping("/categorias")
+    public ResponseEntity<Map<String, Object>> getCategoryCounts(HttpServletRequest request) {
+        String token = extractToken(request);
+        if (!jwtUtils.validateJwtToken(token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", auctionQueryService.getActiveAuctionsCount());
+        response.put("categorias", auctionQueryService.getActiveAuctionsCountsByCategory());
+        return ResponseEntity.ok(response);
+    }
+
     private String extractToken(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
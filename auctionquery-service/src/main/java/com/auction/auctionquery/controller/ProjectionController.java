@@ -0,0 +1,39 @@
+package com.auction.auctionquery.controller;
+
+import com.auction.auctionquery.model.ProjectionCheckpoint;
+import com.auction.auctionquery.service.AuctionProjectionService;
+import com.auction.auctionquery.service.AuctionSyncService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Operación de la proyección: solo para administradores (ver WebSecurityConfig)
+@RestController
+@RequestMapping("/proyeccion")
+public class ProjectionController {
+
+    private final AuctionProjectionService projectionService;
+    private final AuctionSyncService auctionSyncService;
+
+    public ProjectionController(AuctionProjectionService projectionService, AuctionSyncService auctionSyncService) {
+        this.projectionService = projectionService;
+        this.auctionSyncService = auctionSyncService;
+    }
+
+    @GetMapping("/checkpoints")
+    public ResponseEntity<List<ProjectionCheckpoint>> getCheckpoints() {
+        return ResponseEntity.ok(projectionService.getCheckpoints());
+    }
+
+    // La reconstrucción corre en segundo plano; el progreso se consulta en /actuator/auctionrebuild
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        if (!auctionSyncService.startRebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(auctionSyncService.getProgress());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(auctionSyncService.getProgress());
+    }
+}
@@ -2,6 +2,7 @@ package com.auction.auctionquery.controller;
 
 import com.auction.auctionquery.model.UserHistory;
 import com.auction.auctionquery.service.UserHistoryService;
+import com.auction.security.InternalClaimsVerifier;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,30 +16,37 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserHistoryController {
 
     private final UserHistoryService userHistoryService;
+    private final InternalClaimsVerifier internalClaimsVerifier;
 
-    public UserHistoryController(UserHistoryService userHistoryService) {
+    public UserHistoryController(UserHistoryService userHistoryService, InternalClaimsVerifier internalClaimsVerifier) {
         this.userHistoryService = userHistoryService;
+        this.internalClaimsVerifier = internalClaimsVerifier;
     }
 
     @GetMapping("/historial")
     public ResponseEntity<UserHistory> getUserHistory(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String bidCursor,
+            @RequestParam(required = false) String resultCursor,
             @RequestParam(defaultValue = "10") int limit,
             HttpServletRequest request) {
 
-        // 🔄 NUEVO: Usar las cabeceras del API Gateway
-        String username = request.getHeader("X-User-Id");
-        String userRole = request.getHeader("X-User-Role");
-
-        if (username == null || userRole == null) {
-            System.out.println("🔍 [AUCTION-QUERY] Headers missing - X-User-Id: " + username + ", X-User-Role: " + userRole);
+        // Identidad solo desde los claims firmados por el API Gateway (X-User-Id no está firmado)
+        InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+        if (claims == null || claims.getUsername() == null || claims.getRole() == null) {
+            System.out.println("🔍 [AUCTION-QUERY] Missing or invalid signed claims");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        String username = claims.getUsername();
 
-        System.out.println("🔍 [AUCTION-QUERY] Username from header: " + username);
-        System.out.println("🔍 [AUCTION-QUERY] Role from header: " + userRole);
+        System.out.println("🔍 [AUCTION-QUERY] Username from signed claims: " + username);
+        System.out.println("🔍 [AUCTION-QUERY] Role from signed claims: " + claims.getRole());
 
-        UserHistory history = userHistoryService.getUserHistory(username, page, limit);
-        return ResponseEntity.ok(history);
+        try {
+            UserHistory history = userHistoryService.getUserHistory(username, bidCursor, resultCursor, limit);
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            // Cursor de paginación mal formado
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.auction.auctionquery.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de estado de una subasta publicado por auction-service
+ * en el exchange de subastas (routing key "auction.<eventType>").
+ */
+public class AuctionEventDto {
+    private String eventType;
+    private Long auctionId;
+    private String description;
+    private String itemCategory;
+    private String ownerUsername;
+    private String estado;
+    private BigDecimal startingPrice;
+    private BigDecimal precioActual;
+    private BigDecimal incrementoMinimo;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private LocalDateTime occurredAt;
+    private Integer minutesAdded;
+    private String moderatorName;
+
+    // Constructor por defecto
+    public AuctionEventDto() {}
+
+    // Getters y setters
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getItemCategory() { return itemCategory; }
+    public void setItemCategory(String itemCategory) { this.itemCategory = itemCategory; }
+
+    public String getOwnerUsername() { return ownerUsername; }
+    public void setOwnerUsername(String ownerUsername) { this.ownerUsername = ownerUsername; }
+
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+
+    public BigDecimal getStartingPrice() { return startingPrice; }
+    public void setStartingPrice(BigDecimal startingPrice) { this.startingPrice = startingPrice; }
+
+    public BigDecimal getPrecioActual() { return precioActual; }
+    public void setPrecioActual(BigDecimal precioActual) { this.precioActual = precioActual; }
+
+    public BigDecimal getIncrementoMinimo() { return incrementoMinimo; }
+    public void setIncrementoMinimo(BigDecimal incrementoMinimo) { this.incrementoMinimo = incrementoMinimo; }
+
+    public LocalDateTime getFechaInicio() { return fechaInicio; }
+    public void setFechaInicio(LocalDateTime fechaInicio) { this.fechaInicio = fechaInicio; }
+
+    public LocalDateTime getFechaFin() { return fechaFin; }
+    public void setFechaFin(LocalDateTime fechaFin) { this.fechaFin = fechaFin; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    // Solo en eventos "extended"
+    public Integer getMinutesAdded() { return minutesAdded; }
+    public void setMinutesAdded(Integer minutesAdded) { this.minutesAdded = minutesAdded; }
+
+    // Solo en eventos "moderator-joined"
+    public String getModeratorName() { return moderatorName; }
+    public void setModeratorName(String moderatorName) { this.moderatorName = moderatorName; }
+}
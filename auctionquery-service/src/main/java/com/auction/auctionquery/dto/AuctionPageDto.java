@@ -0,0 +1,28 @@
+package com.auction.auctionquery.dto;
+
+import java.util.List;
+
+public class AuctionPageDto {
+    private List<AuctionSnapshotDto> auctions;
+    private int page;
+    private int size;
+    private int totalPages;
+    private long totalElements;
+
+    public AuctionPageDto() {}
+
+    public List<AuctionSnapshotDto> getAuctions() { return auctions; }
+    public void setAuctions(List<AuctionSnapshotDto> auctions) { this.auctions = auctions; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+}
@@ -0,0 +1,30 @@
+package com.auction.auctionquery.dto;
+
+import com.auction.auctionquery.model.AuctionView;
+
+import java.util.List;
+import java.util.Map;
+
+// Resultado de la búsqueda por relevancia: subastas ordenadas por puntuación y conteo por categoría
+public class AuctionSearchResultDto {
+    private List<AuctionView> auctions;
+    private long total;
+    private Map<String, Long> categorias;
+
+    public AuctionSearchResultDto() {}
+
+    public AuctionSearchResultDto(List<AuctionView> auctions, long total, Map<String, Long> categorias) {
+        this.auctions = auctions;
+        this.total = total;
+        this.categorias = categorias;
+    }
+
+    public List<AuctionView> getAuctions() { return auctions; }
+    public void setAuctions(List<AuctionView> auctions) { this.auctions = auctions; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getCategorias() { return categorias; }
+    public void setCategorias(Map<String, Long> categorias) { this.categorias = categorias; }
+}
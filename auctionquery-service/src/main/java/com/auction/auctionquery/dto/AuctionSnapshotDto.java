@@ -0,0 +1,55 @@
+package com.auction.auctionquery.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estado de una subasta tal como lo devuelve auction-service en
+ * GET /subastas/pagina; solo los campos que necesita AuctionView.
+ */
+public class AuctionSnapshotDto {
+    private Long auctionId;
+    private String description;
+    private String itemCategory;
+    private String ownerUsername;
+    private String estado;
+    private BigDecimal startingPrice;
+    private BigDecimal precioActual;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private Long lastEventId;
+
+    // Constructor por defecto
+    public AuctionSnapshotDto() {}
+
+    // Getters y setters
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getItemCategory() { return itemCategory; }
+    public void setItemCategory(String itemCategory) { this.itemCategory = itemCategory; }
+
+    public String getOwnerUsername() { return ownerUsername; }
+    public void setOwnerUsername(String ownerUsername) { this.ownerUsername = ownerUsername; }
+
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+
+    public BigDecimal getStartingPrice() { return startingPrice; }
+    public void setStartingPrice(BigDecimal startingPrice) { this.startingPrice = startingPrice; }
+
+    public BigDecimal getPrecioActual() { return precioActual; }
+    public void setPrecioActual(BigDecimal precioActual) { this.precioActual = precioActual; }
+
+    public LocalDateTime getFechaInicio() { return fechaInicio; }
+    public void setFechaInicio(LocalDateTime fechaInicio) { this.fechaInicio = fechaInicio; }
+
+    public LocalDateTime getFechaFin() { return fechaFin; }
+    public void setFechaFin(LocalDateTime fechaFin) { this.fechaFin = fechaFin; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+}
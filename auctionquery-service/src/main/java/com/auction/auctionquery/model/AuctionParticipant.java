@@ -0,0 +1,40 @@
+package com.auction.auctionquery.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Pujador distinto de una subasta; permite mantener AuctionView.participantes
+ * de forma idempotente aunque un evento de puja llegue repetido.
+ */
+@Entity
+@Table(name = "auction_participant",
+        uniqueConstraints = @UniqueConstraint(name = "uk_auction_participant", columnNames = {"auction_id", "bidder"}))
+public class AuctionParticipant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    @Column(nullable = false)
+    private String bidder;
+
+    // Constructors
+    public AuctionParticipant() {}
+
+    public AuctionParticipant(Long auctionId, String bidder) {
+        this.auctionId = auctionId;
+        this.bidder = bidder;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+
+    public String getBidder() { return bidder; }
+    public void setBidder(String bidder) { this.bidder = bidder; }
+}
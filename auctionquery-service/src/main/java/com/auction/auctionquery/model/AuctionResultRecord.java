@@ -0,0 +1,55 @@
+package com.auction.auctionquery.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Resultado de una subasta finalizada para cada usuario que pujó en ella
+@Entity
+@Table(name = "user_auction_result",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_auction_result", columnNames = {"username", "auction_id"}),
+        indexes = {
+                @Index(name = "idx_user_auction_result_user", columnList = "username, id"),
+                @Index(name = "idx_user_auction_result_auction", columnList = "auction_id")
+        })
+public class AuctionResultRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    private String auctionDescription;
+    private BigDecimal finalPrice;
+    private LocalDateTime endTime;
+    private boolean won;
+
+    // Constructors
+    public AuctionResultRecord() {}
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+
+    public String getAuctionDescription() { return auctionDescription; }
+    public void setAuctionDescription(String auctionDescription) { this.auctionDescription = auctionDescription; }
+
+    public BigDecimal getFinalPrice() { return finalPrice; }
+    public void setFinalPrice(BigDecimal finalPrice) { this.finalPrice = finalPrice; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public boolean isWon() { return won; }
+    public void setWon(boolean won) { this.won = won; }
+}
@@ -5,7 +5,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "auction_view")
+@Table(name = "auction_view", indexes = {
+        // Recuento de subastas activas por categoría (ActiveAuctionCounters)
+        @Index(name = "idx_auction_view_active_categoria", columnList = "active, categoria")
+})
 public class AuctionView {
     @Id
     private Long id;
@@ -20,6 +23,13 @@ public class AuctionView {
     private boolean active;
     private String vendedor;
     private int participantes;
+    // Id del último evento de subasta aplicado (outbox de auction-service)
+    private Long lastEventId;
+    // Lápida: la subasta se borró; la fila se conserva para descartar eventos atrasados
+    @Column(columnDefinition = "boolean default false", nullable = false)
+    private boolean deleted;
+    // Momento en que se aplicó el evento "finished"; las pujas que lleguen después recalculan el resultado
+    private LocalDateTime finishedAt;
 
     // Constructors
     public AuctionView() {}
@@ -58,6 +68,15 @@ public class AuctionView {
     public int getParticipantes() { return participantes; }
     public void setParticipantes(int participantes) { this.participantes = participantes; }
 
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
     // Metodo para obtener el estado como string basado en el campo active
     public String getEstado() {
         return active ? "activa" : "inactiva";
@@ -0,0 +1,59 @@
+package com.auction.auctionquery.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Puja de un usuario en la proyección de historial. El id es el de la puja
+ * en bid-service, así que un evento repetido no duplica la fila.
+ */
+@Entity
+@Table(name = "user_bid_history", indexes = {
+        @Index(name = "idx_user_bid_history_user", columnList = "username, bid_id"),
+        @Index(name = "idx_user_bid_history_auction", columnList = "auction_id, bid_amount")
+})
+public class BidHistoryRecord {
+    @Id
+    @Column(name = "bid_id")
+    private Long bidId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    private String auctionDescription;
+
+    @Column(name = "bid_amount")
+    private BigDecimal bidAmount;
+
+    private LocalDateTime bidTime;
+    private boolean winningBid;
+
+    // Constructors
+    public BidHistoryRecord() {}
+
+    // Getters and setters
+    public Long getBidId() { return bidId; }
+    public void setBidId(Long bidId) { this.bidId = bidId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+
+    public String getAuctionDescription() { return auctionDescription; }
+    public void setAuctionDescription(String auctionDescription) { this.auctionDescription = auctionDescription; }
+
+    public BigDecimal getBidAmount() { return bidAmount; }
+    public void setBidAmount(BigDecimal bidAmount) { this.bidAmount = bidAmount; }
+
+    public LocalDateTime getBidTime() { return bidTime; }
+    public void setBidTime(LocalDateTime bidTime) { this.bidTime = bidTime; }
+
+    public boolean isWinningBid() { return winningBid; }
+    public void setWinningBid(boolean winningBid) { this.winningBid = winningBid; }
+}
@@ -0,0 +1,40 @@
+package com.auction.auctionquery.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Último evento aplicado de cada stream (outbox de auction-service y de
+ * bid-service). Se actualiza en la misma transacción que la proyección.
+ */
+@Entity
+@Table(name = "projection_checkpoint")
+public class ProjectionCheckpoint {
+    @Id
+    private String stream;
+
+    private Long lastEventId;
+    private long eventsApplied;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProjectionCheckpoint() {}
+
+    public ProjectionCheckpoint(String stream) {
+        this.stream = stream;
+        this.lastEventId = 0L;
+    }
+
+    // Getters and setters
+    public String getStream() { return stream; }
+    public void setStream(String stream) { this.stream = stream; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public long getEventsApplied() { return eventsApplied; }
+    public void setEventsApplied(long eventsApplied) { this.eventsApplied = eventsApplied; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -10,6 +10,9 @@ public class UserHistory {
     private BigDecimal totalAmountSpent;
     private List<BidHistory> bidHistory;
     private List<AuctionResult> auctionResults;
+    // Cursores keyset de la página siguiente; null cuando no hay más resultados
+    private String nextBidCursor;
+    private String nextResultCursor;
 
     // Constructors
     public UserHistory() {}
@@ -32,4 +35,10 @@ public class UserHistory {
 
     public List<AuctionResult> getAuctionResults() { return auctionResults; }
     public void setAuctionResults(List<AuctionResult> auctionResults) { this.auctionResults = auctionResults; }
-}
\ No newline at end of file
+
+    public String getNextBidCursor() { return nextBidCursor; }
+    public void setNextBidCursor(String nextBidCursor) { this.nextBidCursor = nextBidCursor; }
+
+    public String getNextResultCursor() { return nextResultCursor; }
+    public void setNextResultCursor(String nextResultCursor) { this.nextResultCursor = nextResultCursor; }
+}
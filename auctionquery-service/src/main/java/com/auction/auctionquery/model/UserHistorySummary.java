@@ -0,0 +1,36 @@
+package com.auction.auctionquery.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Totales pre-agregados del historial de un usuario
+@Entity
+@Table(name = "user_history_summary")
+public class UserHistorySummary {
+    @Id
+    private String username;
+
+    private int totalAuctionsParticipated;
+    private int totalAuctionsWon;
+    private BigDecimal totalAmountSpent = BigDecimal.ZERO;
+
+    // Constructors
+    public UserHistorySummary() {}
+
+    public UserHistorySummary(String username) {
+        this.username = username;
+    }
+
+    // Getters and setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public int getTotalAuctionsParticipated() { return totalAuctionsParticipated; }
+    public void setTotalAuctionsParticipated(int totalAuctionsParticipated) { this.totalAuctionsParticipated = totalAuctionsParticipated; }
+
+    public int getTotalAuctionsWon() { return totalAuctionsWon; }
+    public void setTotalAuctionsWon(int totalAuctionsWon) { this.totalAuctionsWon = totalAuctionsWon; }
+
+    public BigDecimal getTotalAmountSpent() { return totalAmountSpent; }
+    public void setTotalAmountSpent(BigDecimal totalAmountSpent) { this.totalAmountSpent = totalAmountSpent; }
+}
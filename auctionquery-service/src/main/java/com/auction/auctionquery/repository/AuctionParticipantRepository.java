@@ -0,0 +1,24 @@
+package com.auction.auctionquery.repository;
+
+import com.auction.auctionquery.model.AuctionParticipant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuctionParticipantRepository extends JpaRepository<AuctionParticipant, Long> {
+
+    boolean existsByAuctionIdAndBidder(Long auctionId, String bidder);
+
+    long countByAuctionId(Long auctionId);
+
+    List<AuctionParticipant> findByAuctionId(Long auctionId);
+
+    @Modifying
+    @Query("DELETE FROM AuctionParticipant p WHERE p.auctionId = :auctionId")
+    void deleteByAuctionId(@Param("auctionId") Long auctionId);
+}
@@ -0,0 +1,20 @@
+package com.auction.auctionquery.repository;
+
+import com.auction.auctionquery.model.AuctionResultRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuctionResultRecordRepository extends JpaRepository<AuctionResultRecord, Long> {
+
+    // ✅ Página keyset de resultados del usuario, del más reciente al más antiguo
+    List<AuctionResultRecord> findByUsernameAndIdLessThanOrderByIdDesc(String username, Long id, Pageable pageable);
+
+    boolean existsByUsernameAndAuctionId(String username, Long auctionId);
+
+    // Resultados ya registrados de una subasta (para recalcularlos si llega una puja tarde)
+    List<AuctionResultRecord> findByAuctionId(Long auctionId);
+}
@@ -0,0 +1,112 @@
+package com.auction.auctionquery.repository;
+
+import com.auction.auctionquery.dto.AuctionSnapshotDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escritura masiva de auction_view para las reconstrucciones: un lote de
+ * INSERT ... ON CONFLICT por página, que el driver reescribe como un único
+ * INSERT multi-fila (reWriteBatchedInserts). Mismas reglas que la
+ * proyección por eventos: el precio actual nunca baja, un snapshot no pisa
+ * una vista que ya aplicó un evento más nuevo (last_event_id) y las
+ * lápidas de subastas borradas no se tocan.
+ */
+@Repository
+public class AuctionViewBulkRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO auction_view (id, titulo, descripcion, precio_minimo, precio_actual, categoria, " +
+            "fecha_inicio, fecha_fin, active, vendedor, last_event_id, deleted, participantes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, 0) " +
+            "ON CONFLICT (id) DO UPDATE SET " +
+            "titulo = excluded.titulo, descripcion = excluded.descripcion, " +
+            "precio_minimo = excluded.precio_minimo, " +
+            "precio_actual = GREATEST(COALESCE(auction_view.precio_actual, excluded.precio_actual), " +
+            "COALESCE(excluded.precio_actual, auction_view.precio_actual)), " +
+            "categoria = excluded.categoria, fecha_inicio = excluded.fecha_inicio, " +
+            "fecha_fin = excluded.fecha_fin, active = excluded.active, vendedor = excluded.vendedor, " +
+            "last_event_id = COALESCE(excluded.last_event_id, auction_view.last_event_id) " +
+            // Sin id en el snapshot (subasta sin eventos registrados) no hay nada más nuevo que proteger
+            "WHERE NOT auction_view.deleted AND (auction_view.last_event_id IS NULL " +
+            "OR excluded.last_event_id IS NULL OR auction_view.last_event_id <= excluded.last_event_id)";
+
+    // Los participantes se recalculan desde auction_participant, que es la fuente de verdad
+    private static final String RECOUNT_PARTICIPANTS_SQL =
+            "UPDATE auction_view SET participantes = " +
+            "(SELECT count(*) FROM auction_participant p WHERE p.auction_id = auction_view.id) " +
+            "WHERE id = ANY(?) AND NOT deleted";
+
+    private static final String LIVE_IDS_SQL = "SELECT id FROM auction_view WHERE NOT deleted";
+
+    // Igual que el evento "deleted": lápida inactiva, sin participantes
+    private static final String TOMBSTONE_SQL =
+            "UPDATE auction_view SET deleted = true, active = false, participantes = 0 WHERE id = ANY(?)";
+
+    private static final String DELETE_PARTICIPANTS_SQL = "DELETE FROM auction_participant WHERE auction_id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuctionViewBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public int upsertAll(List<AuctionSnapshotDto> auctions) {
+        if (auctions.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(auctions.size());
+        Long[] ids = new Long[auctions.size()];
+        for (int i = 0; i < auctions.size(); i++) {
+            AuctionSnapshotDto auction = auctions.get(i);
+            ids[i] = auction.getAuctionId();
+            rows.add(new Object[] {
+                    auction.getAuctionId(),
+                    auction.getDescription(),
+                    auction.getDescription(),
+                    auction.getStartingPrice(),
+                    auction.getPrecioActual() != null ? auction.getPrecioActual() : auction.getStartingPrice(),
+                    auction.getItemCategory(),
+                    toTimestamp(auction.getFechaInicio()),
+                    toTimestamp(auction.getFechaFin()),
+                    "activa".equals(auction.getEstado()),
+                    auction.getOwnerUsername(),
+                    auction.getLastEventId()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        jdbcTemplate.update(RECOUNT_PARTICIPANTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+        return auctions.size();
+    }
+
+    public List<Long> findLiveIds() {
+        return jdbcTemplate.queryForList(LIVE_IDS_SQL, Long.class);
+    }
+
+    // Convierte en lápidas las vistas de subastas que ya no existen en auction-service
+    @Transactional
+    public int tombstoneAll(List<Long> auctionIds) {
+        if (auctionIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = auctionIds.toArray(new Long[0]);
+        jdbcTemplate.update(DELETE_PARTICIPANTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+        return jdbcTemplate.update(TOMBSTONE_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -47,4 +47,8 @@ public interface AuctionViewRepository extends JpaRepository<AuctionView, Long>
 
     // ✅ Contar subastas activas por categoría
     long countByActiveTrueAndCategoria(String categoria);
+
+    // ✅ Subastas activas agrupadas por categoría (solo para reconciliar los contadores)
+    @Query("SELECT av.categoria, COUNT(av) FROM AuctionView av WHERE av.active = true GROUP BY av.categoria")
+    List<Object[]> countActiveGroupByCategoria();
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.auction.auctionquery.repository;
+
+import com.auction.auctionquery.model.BidHistoryRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BidHistoryRecordRepository extends JpaRepository<BidHistoryRecord, Long> {
+
+    // ✅ Página keyset de pujas del usuario, de la más reciente a la más antigua
+    List<BidHistoryRecord> findByUsernameAndBidIdLessThanOrderByBidIdDesc(String username, Long bidId, Pageable pageable);
+
+    // ✅ Puja ganadora de una subasta (índice auction_id, bid_amount)
+    Optional<BidHistoryRecord> findTopByAuctionIdOrderByBidAmountDesc(Long auctionId);
+
+    @Modifying
+    @Query("UPDATE BidHistoryRecord b SET b.winningBid = true WHERE b.bidId = :bidId")
+    void markWinning(@Param("bidId") Long bidId);
+
+    @Modifying
+    @Query("UPDATE BidHistoryRecord b SET b.winningBid = false WHERE b.auctionId = :auctionId AND b.winningBid = true")
+    void clearWinning(@Param("auctionId") Long auctionId);
+}
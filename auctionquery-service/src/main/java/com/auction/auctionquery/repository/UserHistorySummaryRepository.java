@@ -0,0 +1,9 @@
+package com.auction.auctionquery.repository;
+
+import com.auction.auctionquery.model.UserHistorySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserHistorySummaryRepository extends JpaRepository<UserHistorySummary, String> {
+}
@@ -1,5 +1,6 @@
 package com.auction.auctionquery.security;
 
+import com.auction.security.InternalClaimsVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,20 +23,24 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private InternalClaimsVerifier internalClaimsVerifier;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            // 🔄 NUEVO: Primero intentar usar las cabeceras del API Gateway
-            String userRole = request.getHeader("X-User-Role");
-            String username = request.getHeader("X-User-Id");
+            // 🔄 Primero intentar usar los claims firmados por el API Gateway (sin volver a verificar el JWT)
+            InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
 
-            if (userRole != null && username != null) {
-                System.out.println("🔍 [AUCTION-QUERY] Using headers from API Gateway");
+            if (claims != null && claims.getRole() != null) {
+                String username = claims.getUsername();
+                String userRole = claims.getRole();
+                System.out.println("🔍 [AUCTION-QUERY] Using signed claims from API Gateway");
                 System.out.println("🔍 [AUCTION-QUERY] Username from header: " + username);
                 System.out.println("🔍 [AUCTION-QUERY] Role from header: " + userRole);
 
-                // Usar el rol del header del API Gateway
+                // Usar el rol firmado por el API Gateway
                 List<SimpleGrantedAuthority> authorities =
                         List.of(new SimpleGrantedAuthority("ROLE_" + userRole));
 
@@ -24,6 +24,7 @@ public class WebSecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/proyeccion/**").hasRole("ADMINISTRADOR")
                 .anyRequest().authenticated()
             );
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,134 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.repository.AuctionViewRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Número de subastas activas, total y por categoría, mantenido en memoria
+ * con LongAdder: la proyección aplica +1/-1 cuando una vista cambia de
+ * estado activo o de categoría, y las lecturas son O(1).
+ *
+ * La base es siempre auction_view (GROUP BY al arrancar y en cada
+ * reconciliación) más los eventos aplicados desde entonces. No hay estado
+ * compartido entre réplicas: cada una consume solo parte de los eventos,
+ * así que los aplicados por otras réplicas aparecen en la siguiente
+ * reconciliación.
+ */
+@Component
+public class ActiveAuctionCounters {
+
+    // Las subastas sin categoría cuentan en el total pero no aparecen como faceta
+    private static final String NO_CATEGORY = "";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    // Los eventos incrementan en paralelo (lectura); la reconciliación sustituye los valores en exclusiva
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AuctionViewRepository auctionViewRepository;
+
+    public ActiveAuctionCounters(AuctionViewRepository auctionViewRepository) {
+        this.auctionViewRepository = auctionViewRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        reconcile();
+    }
+
+    // Aplica el cambio de una vista: antes (activa, categoría) y después
+    public void onViewChanged(boolean wasActive, String previousCategoria, boolean isActive, String categoria) {
+        if (wasActive == isActive && (!isActive || key(previousCategoria).equals(key(categoria)))) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (wasActive) {
+                counter(previousCategoria).decrement();
+            }
+            if (isActive) {
+                counter(categoria).increment();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getTotal() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (LongAdder counter : counters.values()) {
+                total += counter.sum();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getCount(String categoria) {
+        lock.readLock().lock();
+        try {
+            LongAdder counter = counters.get(key(categoria));
+            return counter != null ? counter.sum() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Facetas de categoría para el listado: solo las que tienen subastas activas
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            counters.forEach((categoria, counter) -> {
+                long count = counter.sum();
+                if (count > 0 && !NO_CATEGORY.equals(categoria)) {
+                    counts.put(categoria, count);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    // Recuento desde auction_view (índice active, categoria); los eventos aplicados durante
+    // la consulta pueden quedar fuera y se corrigen en la siguiente
+    @Scheduled(fixedDelayString = "${counters.reconcile-ms:30000}", initialDelayString = "${counters.reconcile-ms:30000}")
+    public void reconcile() {
+        Map<String, Long> actual = new HashMap<>();
+        try {
+            for (Object[] row : auctionViewRepository.countActiveGroupByCategoria()) {
+                actual.merge(key((String) row[0]), (Long) row[1], Long::sum);
+            }
+        } catch (Exception e) {
+            System.err.println("Error al reconciliar los contadores de categorías: " + e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            counters.forEach((categoria, counter) -> counter.reset());
+            actual.forEach((categoria, count) -> counter(categoria).add(count));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private LongAdder counter(String categoria) {
+        return counters.computeIfAbsent(key(categoria), c -> new LongAdder());
+    }
+
+    private String key(String categoria) {
+        return categoria != null ? categoria : NO_CATEGORY;
+    }
+}
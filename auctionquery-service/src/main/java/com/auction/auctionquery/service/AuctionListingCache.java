@@ -0,0 +1,95 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.model.AuctionView;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de lectura de las páginas del listado de subastas activas.
+ *
+ * Las peticiones concurrentes de una misma página esperan a una única
+ * carga (Cache.get coalesce por clave). Invalidar no borra entradas: sube
+ * la generación de la categoría, de modo que las claves siguientes ya no
+ * coinciden, y una carga en curso con datos viejos no puede quedar como
+ * vigente. Las entradas antiguas caducan por TTL o tamaño.
+ */
+@Component
+public class AuctionListingCache {
+
+    private static final String ALL_CATEGORIES = "*";
+
+    private final Cache<ListingKey, List<AuctionView>> listingCache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    public AuctionListingCache(Cache<ListingKey, List<AuctionView>> listingCache) {
+        this.listingCache = listingCache;
+    }
+
+    public List<AuctionView> get(String categoria, int page, int limit, String sort, Supplier<List<AuctionView>> loader) {
+        String category = categoria != null ? categoria : ALL_CATEGORIES;
+        ListingKey key = new ListingKey(category, page, limit, sort, epoch.get(), generation(category).get());
+        return listingCache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    // Una subasta entró, salió o cambió de posición en los listados de estas categorías
+    // (null si no estaba o no está en ninguna); el listado sin filtro cambia siempre.
+    // Los cambios de precio o de texto no invalidan: se ven al caducar el TTL
+    public void invalidate(String previousCategoria, String categoria) {
+        if (previousCategoria != null) {
+            generation(previousCategoria).incrementAndGet();
+        }
+        if (categoria != null && !categoria.equals(previousCategoria)) {
+            generation(categoria).incrementAndGet();
+        }
+        generation(ALL_CATEGORIES).incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+    }
+
+    private AtomicLong generation(String category) {
+        return generations.computeIfAbsent(category, c -> new AtomicLong());
+    }
+
+    public static final class ListingKey {
+        private final String categoria;
+        private final int page;
+        private final int limit;
+        private final String sort;
+        private final long epoch;
+        private final long generation;
+
+        ListingKey(String categoria, int page, int limit, String sort, long epoch, long generation) {
+            this.categoria = categoria;
+            this.page = page;
+            this.limit = limit;
+            this.sort = sort;
+            this.epoch = epoch;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ListingKey)) return false;
+            ListingKey that = (ListingKey) o;
+            return page == that.page && limit == that.limit && epoch == that.epoch
+                    && generation == that.generation
+                    && categoria.equals(that.categoria) && sort.equals(that.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoria, page, limit, sort, epoch, generation);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.dto.AuctionEventDto;
+import com.auction.auctionquery.dto.NewBidEventDto;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consume los eventos publicados por los outbox de auction-service y
+ * bid-service. Si la aplicación falla el mensaje se reencola y se reintenta.
+ * Las colas de la proyección se reparten entre réplicas; la del índice de
+ * búsqueda es propia de cada una.
+ */
+@Component
+public class AuctionProjectionListener {
+
+    private final AuctionProjectionService projectionService;
+    private final AuctionSearchIndex auctionSearchIndex;
+
+    public AuctionProjectionListener(AuctionProjectionService projectionService, AuctionSearchIndex auctionSearchIndex) {
+        this.projectionService = projectionService;
+        this.auctionSearchIndex = auctionSearchIndex;
+    }
+
+    // La proyección invalida los listados tras el commit, solo si la subasta entra, sale o se mueve en ellos
+    @RabbitListener(queues = "#{auctionEventsQueue.name}")
+    public void onAuctionEvent(AuctionEventDto event, @Header(name = "eventId", required = false) Long eventId) {
+        projectionService.applyAuctionEvent(event, eventId);
+    }
+
+    // Cola propia de esta réplica: su índice en memoria ve todos los eventos, no solo los que aplica
+    @RabbitListener(queues = "#{searchIndexEventsQueue.name}")
+    public void onAuctionEventForIndex(AuctionEventDto event, @Header(name = "eventId", required = false) Long eventId) {
+        auctionSearchIndex.apply(event, eventId);
+    }
+
+    // Una puja solo cambia precio y participantes, no la pertenencia ni el orden de los listados
+    @RabbitListener(queues = "#{bidEventsQueue.name}")
+    public void onBidPlaced(NewBidEventDto event, @Header(name = "eventId", required = false) Long eventId) {
+        projectionService.applyBidPlaced(event, eventId);
+    }
+}
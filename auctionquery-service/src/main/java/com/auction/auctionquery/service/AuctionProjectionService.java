@@ -0,0 +1,203 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.dto.AuctionEventDto;
+import com.auction.auctionquery.dto.NewBidEventDto;
+import com.auction.auctionquery.model.AuctionParticipant;
+import com.auction.auctionquery.model.AuctionView;
+import com.auction.auctionquery.model.ProjectionCheckpoint;
+import com.auction.auctionquery.repository.AuctionParticipantRepository;
+import com.auction.auctionquery.repository.AuctionViewRepository;
+import com.auction.auctionquery.repository.ProjectionCheckpointRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Aplica los eventos de subastas y pujas sobre AuctionView con upserts
+ * incrementales. Cada evento se aplica en su propia transacción junto con
+ * el checkpoint de su stream, y es idempotente: las reentregas del broker
+ * (entrega al menos una vez) no alteran el resultado.
+ */
+@Service
+public class AuctionProjectionService {
+
+    public static final String AUCTION_STREAM = "auction";
+    public static final String BID_STREAM = "bid";
+
+    private final AuctionViewRepository auctionViewRepository;
+    private final AuctionParticipantRepository participantRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final ActiveAuctionCounters activeAuctionCounters;
+    private final UserHistoryProjection userHistoryProjection;
+    private final AuctionListingCache auctionListingCache;
+
+    public AuctionProjectionService(AuctionViewRepository auctionViewRepository,
+                                    AuctionParticipantRepository participantRepository,
+                                    ProjectionCheckpointRepository checkpointRepository,
+                                    ActiveAuctionCounters activeAuctionCounters,
+                                    UserHistoryProjection userHistoryProjection,
+                                    AuctionListingCache auctionListingCache) {
+        this.auctionViewRepository = auctionViewRepository;
+        this.participantRepository = participantRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.activeAuctionCounters = activeAuctionCounters;
+        this.userHistoryProjection = userHistoryProjection;
+        this.auctionListingCache = auctionListingCache;
+    }
+
+    // Devuelve la vista afectada (una lápida si el evento es "deleted"), o null si no cambió nada
+    @Transactional
+    public AuctionView applyAuctionEvent(AuctionEventDto event, Long eventId) {
+        AuctionView view = auctionViewRepository.findById(event.getAuctionId()).orElse(null);
+
+        // Los eventos de una subasta se publican en orden de id: uno menor o igual ya se aplicó.
+        // Una subasta borrada no revive con eventos atrasados
+        if (view != null && (view.isDeleted()
+                || (eventId != null && view.getLastEventId() != null && eventId <= view.getLastEventId()))) {
+            return null;
+        }
+
+        boolean wasActive = view != null && view.isActive();
+        String previousCategoria = view != null ? view.getCategoria() : null;
+        LocalDateTime previousFechaInicio = view != null ? view.getFechaInicio() : null;
+
+        if ("deleted".equals(event.getEventType())) {
+            // Se conserva una lápida (inactiva, fuera de todos los listados) con el id del evento
+            if (view == null) {
+                view = new AuctionView();
+                view.setId(event.getAuctionId());
+            }
+            view.setDeleted(true);
+            view.setActive(false);
+            view.setParticipantes(0);
+            if (eventId != null) {
+                view.setLastEventId(eventId);
+            }
+            auctionViewRepository.save(view);
+            participantRepository.deleteByAuctionId(event.getAuctionId());
+            afterCommit(() -> activeAuctionCounters.onViewChanged(wasActive, previousCategoria, false, null));
+            if (wasActive) {
+                afterCommit(() -> auctionListingCache.invalidate(previousCategoria, null));
+            }
+        } else {
+            view = applySnapshot(view, event);
+            if (eventId != null) {
+                view.setLastEventId(eventId);
+            }
+            if ("finished".equals(event.getEventType()) && view.getFinishedAt() == null) {
+                view.setFinishedAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now());
+            }
+            auctionViewRepository.save(view);
+            if ("finished".equals(event.getEventType())) {
+                userHistoryProjection.recordAuctionFinished(view, event.getOccurredAt());
+            }
+            boolean isActive = view.isActive();
+            String categoria = view.getCategoria();
+            afterCommit(() -> activeAuctionCounters.onViewChanged(wasActive, previousCategoria, isActive, categoria));
+            // Los listados van por fecha de inicio: solo cambian si la subasta entra, sale o se mueve
+            boolean listingChanged = wasActive != isActive || (isActive
+                    && (!Objects.equals(previousCategoria, categoria)
+                    || !Objects.equals(previousFechaInicio, view.getFechaInicio())));
+            if (listingChanged) {
+                afterCommit(() -> auctionListingCache.invalidate(wasActive ? previousCategoria : null,
+                        isActive ? categoria : null));
+            }
+        }
+        checkpoint(AUCTION_STREAM, eventId);
+        return view;
+    }
+
+    // Devuelve la vista actualizada (un esbozo si la subasta aún no llegó), o null si está borrada
+    @Transactional
+    public AuctionView applyBidPlaced(NewBidEventDto event, Long eventId) {
+        Long auctionId = Long.valueOf(event.getAuctionId());
+        String bidder = event.getBidderUsername();
+
+        AuctionView view = auctionViewRepository.findById(auctionId).orElse(null);
+        if (view != null && view.isDeleted()) {
+            checkpoint(BID_STREAM, eventId);
+            return null;
+        }
+
+        boolean newParticipant = bidder != null && !participantRepository.existsByAuctionIdAndBidder(auctionId, bidder);
+
+        // Si la vista aún no existe se crea un esbozo inactivo con el precio y los participantes;
+        // el evento de subasta lo completará sin perder la puja (el precio solo sube)
+        if (view == null) {
+            view = new AuctionView();
+            view.setId(auctionId);
+            view.setParticipantes((int) participantRepository.countByAuctionId(auctionId));
+        }
+        if (newParticipant) {
+            participantRepository.save(new AuctionParticipant(auctionId, bidder));
+            view.setParticipantes(view.getParticipantes() + 1);
+        }
+        view.setPrecioActual(max(view.getPrecioActual(), event.getNewPrice()));
+        auctionViewRepository.save(view);
+        userHistoryProjection.recordBid(event, view, newParticipant);
+        checkpoint(BID_STREAM, eventId);
+        return view;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectionCheckpoint> getCheckpoints() {
+        return checkpointRepository.findAll();
+    }
+
+    private AuctionView applySnapshot(AuctionView view, AuctionEventDto event) {
+        if (view == null) {
+            view = new AuctionView();
+            view.setId(event.getAuctionId());
+            view.setParticipantes((int) participantRepository.countByAuctionId(event.getAuctionId()));
+        }
+        view.setTitulo(event.getDescription());
+        view.setDescripcion(event.getDescription());
+        view.setPrecioMinimo(event.getStartingPrice());
+        // El precio solo sube: el de auction-service puede ir por detrás de las pujas ya aplicadas
+        BigDecimal eventPrice = event.getPrecioActual() != null ? event.getPrecioActual() : event.getStartingPrice();
+        view.setPrecioActual(max(view.getPrecioActual(), eventPrice));
+        view.setCategoria(event.getItemCategory());
+        view.setVendedor(event.getOwnerUsername());
+        view.setFechaInicio(event.getFechaInicio());
+        view.setFechaFin(event.getFechaFin());
+        view.setActive("activa".equals(event.getEstado()));
+        return view;
+    }
+
+    private void checkpoint(String stream, Long eventId) {
+        ProjectionCheckpoint checkpoint = checkpointRepository.findById(stream)
+                .orElseGet(() -> new ProjectionCheckpoint(stream));
+        if (eventId != null && eventId > checkpoint.getLastEventId()) {
+            checkpoint.setLastEventId(eventId);
+        }
+        checkpoint.setEventsApplied(checkpoint.getEventsApplied() + 1);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    // Los contadores en memoria solo reflejan cambios confirmados
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private BigDecimal max(BigDecimal current, BigDecimal candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        return candidate.compareTo(current) > 0 ? candidate : current;
+    }
+}
@@ -1,10 +1,16 @@
 package com.auction.auctionquery.service;
 
+import com.auction.auctionquery.dto.AuctionSearchResultDto;
 import com.auction.auctionquery.model.AuctionView;
 import java.util.List;
+import java.util.Map;
 
 public interface AuctionQueryService {
     List<AuctionView> getActiveAuctions(String categoria, int page, int limit);
     AuctionView getAuctionById(Long id);
     List<AuctionView> searchAuctions(String searchTerm, String categoria, int page, int limit);
+    AuctionSearchResultDto searchAuctionsRanked(String searchTerm, String categoria, int page, int limit);
+    long getActiveAuctionsCount();
+    long getActiveAuctionsCountByCategory(String categoria);
+    Map<String, Long> getActiveAuctionsCountsByCategory();
 }
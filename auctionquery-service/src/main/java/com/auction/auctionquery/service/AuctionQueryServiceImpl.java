@@ -1,5 +1,6 @@
 package com.auction.auctionquery.service;
 
+import com.auction.auctionquery.dto.AuctionSearchResultDto;
 import com.auction.auctionquery.model.AuctionView;
 import com.auction.auctionquery.repository.AuctionViewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,8 +9,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AuctionQueryServiceImpl implements AuctionQueryService {
@@ -17,23 +22,37 @@ public class AuctionQueryServiceImpl implements AuctionQueryService {
     @Autowired
     private AuctionViewRepository auctionViewRepository;
 
+    @Autowired
+    private AuctionSearchIndex auctionSearchIndex;
+
+    @Autowired
+    private AuctionListingCache auctionListingCache;
+
+    @Autowired
+    private ActiveAuctionCounters activeAuctionCounters;
+
     @Override
     public List<AuctionView> getActiveAuctions(String categoria, int page, int limit) {
         try {
-            // ✅ Configurar paginación (ordenar por fecha de inicio descendente)
-            Pageable pageable = PageRequest.of(page, limit, Sort.by(Sort.Direction.DESC, "fechaInicio"));
+            String category = categoria != null && !categoria.trim().isEmpty() ? categoria : null;
 
-            Page<AuctionView> auctionPage;
+            // ✅ Leer de la caché; en un fallo solo una petición por página consulta la base de datos
+            return auctionListingCache.get(category, page, limit, "fechaInicio,desc", () -> {
+                // ✅ Configurar paginación (ordenar por fecha de inicio descendente)
+                Pageable pageable = PageRequest.of(page, limit, Sort.by(Sort.Direction.DESC, "fechaInicio"));
 
-            if (categoria != null && !categoria.trim().isEmpty()) {
-                // ✅ Filtrar por categoría
-                auctionPage = auctionViewRepository.findByActiveTrueAndCategoria(categoria, pageable);
-            } else {
-                // ✅ Obtener todas las subastas activas
-                auctionPage = auctionViewRepository.findByActiveTrue(pageable);
-            }
+                Page<AuctionView> auctionPage;
 
-            return auctionPage.getContent();
+                if (category != null) {
+                    // ✅ Filtrar por categoría
+                    auctionPage = auctionViewRepository.findByActiveTrueAndCategoria(category, pageable);
+                } else {
+                    // ✅ Obtener todas las subastas activas
+                    auctionPage = auctionViewRepository.findByActiveTrue(pageable);
+                }
+
+                return auctionPage.getContent();
+            });
 
         } catch (Exception e) {
             // ✅ En caso de error, retornar lista vacía
@@ -61,14 +80,10 @@ public class AuctionQueryServiceImpl implements AuctionQueryService {
 
             Page<AuctionView> auctionPage;
 
-            if (categoria != null && !categoria.trim().isEmpty() &&
-                    searchTerm != null && !searchTerm.trim().isEmpty()) {
-                // ✅ Buscar por categoría y término
-                auctionPage = auctionViewRepository.findActiveAuctionsByCategoryAndSearchTerm(
-                        categoria, searchTerm, pageable);
-            } else if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-                // ✅ Buscar solo por término
-                auctionPage = auctionViewRepository.findActiveAuctionsBySearchTerm(searchTerm, pageable);
+            if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+                // ✅ Buscar en el índice de texto (con o sin categoría), ordenado por fecha de inicio
+                AuctionSearchIndex.SearchHits hits = auctionSearchIndex.search(searchTerm, categoria, page, limit, false);
+                return loadInOrder(hits.getIds());
             } else if (categoria != null && !categoria.trim().isEmpty()) {
                 // ✅ Buscar solo por categoría
                 auctionPage = auctionViewRepository.findByActiveTrueAndCategoria(categoria, pageable);
@@ -85,24 +100,46 @@ public class AuctionQueryServiceImpl implements AuctionQueryService {
         }
     }
 
-    //Metodo para obtener estadísticas
-    public long getActiveAuctionsCount() {
+    @Override
+    public AuctionSearchResultDto searchAuctionsRanked(String searchTerm, String categoria, int page, int limit) {
         try {
-            return auctionViewRepository.countByActiveTrue();
+            AuctionSearchIndex.SearchHits hits = auctionSearchIndex.search(searchTerm, categoria, page, limit, true);
+            return new AuctionSearchResultDto(loadInOrder(hits.getIds()), hits.getTotal(), hits.getCategories());
         } catch (Exception e) {
-            System.err.println("Error al contar subastas activas: " + e.getMessage());
-            return 0;
+            System.err.println("Error al buscar subastas por relevancia: " + e.getMessage());
+            return new AuctionSearchResultDto(new ArrayList<>(), 0, Collections.emptyMap());
         }
     }
 
-    //Metodo para obtener estadísticas por categoría
-    public long getActiveAuctionsCountByCategory(String categoria) {
-        try {
-            return auctionViewRepository.countByActiveTrueAndCategoria(categoria);
-        } catch (Exception e) {
-            System.err.println("Error al contar subastas por categoría: " + e.getMessage());
-            return 0;
+    // Carga las vistas de los ids del índice respetando su orden; descarta las que ya no están activas
+    private List<AuctionView> loadInOrder(List<Long> ids) {
+        Map<Long, AuctionView> views = auctionViewRepository.findAllById(ids).stream()
+                .filter(AuctionView::isActive)
+                .collect(Collectors.toMap(AuctionView::getId, Function.identity()));
+        List<AuctionView> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            AuctionView view = views.get(id);
+            if (view != null) {
+                ordered.add(view);
+            }
         }
+        return ordered;
+    }
+
+    // ✅ Contadores mantenidos por la proyección: O(1), sin recorrer auction_view
+    @Override
+    public long getActiveAuctionsCount() {
+        return activeAuctionCounters.getTotal();
+    }
+
+    @Override
+    public long getActiveAuctionsCountByCategory(String categoria) {
+        return activeAuctionCounters.getCount(categoria);
+    }
+
+    @Override
+    public Map<String, Long> getActiveAuctionsCountsByCategory() {
+        return activeAuctionCounters.getCounts();
     }
 
 //    private List<AuctionView> createMockAuctions() {
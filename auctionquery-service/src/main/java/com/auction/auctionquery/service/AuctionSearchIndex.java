@@ -0,0 +1,346 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.dto.AuctionEventDto;
+import com.auction.auctionquery.model.AuctionView;
+import com.auction.auctionquery.repository.AuctionViewRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido en memoria (Lucene) de las subastas activas, uno por réplica.
+ * Se construye desde AuctionView al arrancar y se mantiene con los eventos de
+ * subasta que llegan por la cola propia de la réplica, indexando el contenido
+ * del evento (no la vista, que otra réplica puede no haber actualizado aún).
+ * El texto se tokeniza en minúsculas, sin acentos y con stemming ligero de
+ * español; cada palabra de la búsqueda también encaja como prefijo.
+ */
+@Component
+public class AuctionSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITULO = "titulo";
+    private static final String DESCRIPCION = "descripcion";
+    private static final String CATEGORIA = "categoria";
+    private static final String FECHA_INICIO = "fechaInicio";
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MAX_CATEGORIES = 50;
+
+    private final AuctionViewRepository auctionViewRepository;
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    // Último evento indexado por subasta: descarta reentregas y eventos más antiguos que la vista
+    private final Map<Long, Long> indexedEventIds = new ConcurrentHashMap<>();
+
+    private Analyzer analyzer;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    public AuctionSearchIndex(AuctionViewRepository auctionViewRepository) {
+        this.auctionViewRepository = auctionViewRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        analyzer = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(ASCIIFoldingFilterFactory.class)
+                .addTokenFilter(SpanishLightStemFilterFactory.class)
+                .build();
+        writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // ✅ Reconstruye el índice desde la base de datos, por páginas. Corre con la cola de la réplica
+    // ya consumiendo: lo que un evento indexó antes que la vista no se pisa con datos más antiguos
+    public synchronized void rebuild() {
+        try {
+            Set<Long> active = new HashSet<>();
+            int pageNumber = 0;
+            Page<AuctionView> page;
+            do {
+                page = auctionViewRepository.findByActiveTrue(
+                        PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE, Direction.ASC, "id"));
+                for (AuctionView view : page.getContent()) {
+                    active.add(view.getId());
+                    Long indexed = indexedEventIds.get(view.getId());
+                    if (indexed == null || view.getLastEventId() == null || view.getLastEventId() >= indexed) {
+                        writer.updateDocument(new Term(ID, view.getId().toString()), toDocument(view));
+                        if (view.getLastEventId() != null) {
+                            indexedEventIds.put(view.getId(), view.getLastEventId());
+                        }
+                    }
+                }
+            } while (page.hasNext());
+            removeInactive(active);
+            searcherManager.maybeRefresh();
+            System.out.println("✅ Índice de búsqueda construido: " + writer.getDocStats().numDocs + " subastas");
+        } catch (Exception e) {
+            System.err.println("❌ Error al construir el índice de búsqueda: " + e.getMessage());
+        }
+    }
+
+    // Quita las subastas que ya no están activas en la vista, salvo las que indexó un evento
+    private void removeInactive(Set<Long> active) throws IOException {
+        searcherManager.maybeRefresh();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            StoredFields storedFields = searcher.storedFields();
+            Bits liveDocs = MultiBits.getLiveDocs(searcher.getIndexReader());
+            for (int doc = 0; doc < searcher.getIndexReader().maxDoc(); doc++) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                Long id = Long.valueOf(storedFields.document(doc).get(ID));
+                if (!active.contains(id) && !indexedEventIds.containsKey(id)) {
+                    writer.deleteDocuments(new Term(ID, id.toString()));
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // ✅ Aplica un evento de subasta al índice con su propio contenido
+    public synchronized void apply(AuctionEventDto event, Long eventId) {
+        Long auctionId = event.getAuctionId();
+        Long indexed = indexedEventIds.get(auctionId);
+        if (eventId != null && indexed != null && eventId <= indexed) {
+            return;
+        }
+        try {
+            Term idTerm = new Term(ID, auctionId.toString());
+            if (!"deleted".equals(event.getEventType()) && "activa".equals(event.getEstado())) {
+                writer.updateDocument(idTerm, toDocument(auctionId, event.getDescription(), event.getDescription(),
+                        event.getItemCategory(), event.getFechaInicio()));
+            } else {
+                writer.deleteDocuments(idTerm);
+            }
+            if (eventId != null) {
+                indexedEventIds.put(auctionId, eventId);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            System.err.println("Error al indexar subasta " + auctionId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca subastas activas. En modo ranked ordena por relevancia (BM25) y
+     * cuenta resultados por categoría; si no, ordena por fecha de inicio
+     * descendente, como la búsqueda original.
+     */
+    public SearchHits search(String searchTerm, String categoria, int page, int limit, boolean ranked) throws IOException {
+        if (page < 0 || limit < 1) {
+            throw new IllegalArgumentException("Página o límite inválidos: page=" + page + ", limit=" + limit);
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            Query textQuery = buildTextQuery(searchTerm);
+            Query query = textQuery;
+            if (categoria != null && !categoria.isBlank()) {
+                query = new BooleanQuery.Builder()
+                        .add(textQuery, BooleanClause.Occur.MUST)
+                        .add(new TermQuery(new Term(CATEGORIA, categoria)), BooleanClause.Occur.FILTER)
+                        .build();
+            }
+
+            int offset = page * limit;
+            int topN = Math.max(1, offset + limit);
+            TopDocs topDocs = ranked
+                    ? searcher.search(query, topN)
+                    : searcher.search(query, topN, new Sort(new SortField(FECHA_INICIO, SortField.Type.LONG, true)));
+
+            List<Long> ids = new ArrayList<>();
+            StoredFields storedFields = searcher.storedFields();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(scoreDocs[i].doc).get(ID)));
+            }
+
+            // Las categorías se cuentan sobre la búsqueda de texto, sin el filtro de categoría
+            Map<String, Long> categories = ranked ? countCategories(searcher, textQuery) : Collections.emptyMap();
+            return new SearchHits(ids, topDocs.totalHits.value, categories);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query buildTextQuery(String searchTerm) throws IOException {
+        List<String> tokens = searchTerm != null ? analyze(searchTerm) : Collections.emptyList();
+        if (tokens.isEmpty()) {
+            return new MatchAllDocsQuery();
+        }
+
+        // Todas las palabras deben aparecer, completas o como prefijo; el título pesa el doble
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            Query tokenQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITULO, token)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPCION, token)), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(TITULO, token)), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(DESCRIPCION, token)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(tokenQuery, BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPCION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private Map<String, Long> countCategories(IndexSearcher searcher, Query query) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        SortedSetDocValuesReaderState state = facetState(searcher);
+        if (state == null) {
+            return counts;
+        }
+
+        FacetsCollector facetsCollector = new FacetsCollector();
+        searcher.search(query, facetsCollector);
+        Facets facets = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+        FacetResult result = facets.getTopChildren(MAX_CATEGORIES, CATEGORIA);
+        if (result != null) {
+            for (LabelAndValue labelAndValue : result.labelValues) {
+                counts.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    // El estado de facetas depende del reader: se recalcula solo cuando el índice cambia
+    private SortedSetDocValuesReaderState facetState(IndexSearcher searcher) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != searcher.getIndexReader()) {
+            try {
+                state = new DefaultSortedSetDocValuesReaderState(searcher.getIndexReader(), facetsConfig);
+            } catch (IllegalArgumentException e) {
+                // Ninguna subasta indexada tiene categoría todavía
+                return null;
+            }
+            facetState = state;
+        }
+        return state;
+    }
+
+    private Document toDocument(AuctionView view) throws IOException {
+        return toDocument(view.getId(), view.getTitulo(), view.getDescripcion(), view.getCategoria(),
+                view.getFechaInicio());
+    }
+
+    private Document toDocument(Long id, String titulo, String descripcion, String categoria,
+                                LocalDateTime fechaInicio) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(TITULO, nullToEmpty(titulo), Field.Store.NO));
+        document.add(new TextField(DESCRIPCION, nullToEmpty(descripcion), Field.Store.NO));
+        if (categoria != null && !categoria.isBlank()) {
+            document.add(new StringField(CATEGORIA, categoria, Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(CATEGORIA, categoria));
+        }
+        long fechaInicioMillis = fechaInicio != null ? fechaInicio.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        document.add(new NumericDocValuesField(FECHA_INICIO, fechaInicioMillis));
+        return facetsConfig.build(document);
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    public static class SearchHits {
+        private final List<Long> ids;
+        private final long total;
+        private final Map<String, Long> categories;
+
+        public SearchHits(List<Long> ids, long total, Map<String, Long> categories) {
+            this.ids = ids;
+            this.total = total;
+            this.categories = categories;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public long getTotal() { return total; }
+        public Map<String, Long> getCategories() { return categories; }
+    }
+}
@@ -1,75 +1,218 @@
 package com.auction.auctionquery.service;
 
 import com.auction.auctionquery.client.AuctionServiceClient;
-import com.auction.auctionquery.model.AuctionView;
-import com.auction.auctionquery.repository.AuctionViewRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.auction.auctionquery.dto.AuctionPageDto;
+import com.auction.auctionquery.repository.AuctionViewBulkRepository;
+import com.auction.security.InternalClaimsSigner;
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Reconstrucción completa de AuctionView a partir de auction-service.
+ * La vista se mantiene al día con eventos (AuctionProjectionListener);
+ * esto solo se ejecuta manualmente, por ejemplo tras perder la cola.
+ *
+ * Las páginas se piden en paralelo en un pool acotado, con un número
+ * limitado de páginas en vuelo, y se escriben por lotes desde un único
+ * hilo. Al terminar, las vistas de subastas que auction-service ya no
+ * tiene (y confirma con un 404) pasan a ser lápidas. Las peticiones van
+ * firmadas con la credencial del propio servicio, no con el token de quien
+ * lanzó la reconstrucción. El progreso se expone en el endpoint de
+ * actuator "auctionrebuild".
+ */
 @Service
 public class AuctionSyncService {
 
+    // Credencial de servicio: solo lectura sobre auction-service
+    private static final String SERVICE_USERNAME = "auction-query-service";
+    private static final String SERVICE_ROLE = "PARTICIPANTE";
+
     @Autowired
     private AuctionServiceClient auctionServiceClient;
 
     @Autowired
-    private AuctionViewRepository auctionViewRepository;
+    private AuctionViewBulkRepository auctionViewBulkRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private AuctionSearchIndex auctionSearchIndex;
 
-    // ✅ Sincronizar cada 5 minutos
-    @Scheduled(fixedRate = 300000) // 5 minutos
-    public void syncAuctions() {
-        try {
-            // ✅ Obtener subastas del auction-service
-            // Nota: En una implementación real, necesitarías un token de sistema
-            String systemToken = "Bearer system-token"; // TODO: Implementar token de sistema
-
-            List<Object> auctionsData = auctionServiceClient.getActiveAuctions(systemToken);
-
-            // ✅ Procesar cada subasta
-            for (Object auctionData : auctionsData) {
-                try {
-                    JsonNode auctionNode = objectMapper.valueToTree(auctionData);
-
-                    // ✅ Crear o actualizar AuctionView
-                    AuctionView auctionView = new AuctionView();
-                    auctionView.setId(auctionNode.get("auctionId").asLong());
-                    auctionView.setTitulo(auctionNode.get("description").asText());
-                    auctionView.setDescripcion(auctionNode.get("description").asText());
-                    auctionView.setPrecioMinimo(new BigDecimal(auctionNode.get("startingPrice").asText()));
-                    auctionView.setPrecioActual(auctionNode.has("precioActual") ?
-                            new BigDecimal(auctionNode.get("precioActual").asText()) :
-                            new BigDecimal(auctionNode.get("startingPrice").asText()));
-                    auctionView.setCategoria(auctionNode.get("itemCategory").asText());
-                    auctionView.setVendedor(auctionNode.get("ownerUsername").asText());
-                    auctionView.setActive("activa".equals(auctionNode.get("estado").asText()));
-
-                    // ✅ Guardar en la base de datos
-                    auctionViewRepository.save(auctionView);
-
-                } catch (Exception e) {
-                    System.err.println("Error al procesar subasta: " + e.getMessage());
-                }
+    @Autowired
+    private AuctionListingCache auctionListingCache;
+
+    @Autowired
+    private ActiveAuctionCounters activeAuctionCounters;
+
+    @Autowired
+    private InternalClaimsSigner internalClaimsSigner;
+
+    @Value("${rebuild.page-size:500}")
+    private int pageSize;
+
+    @Value("${rebuild.fetch-threads:4}")
+    private int fetchThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger pagesDone = new AtomicInteger();
+    private final AtomicLong auctionsWritten = new AtomicLong();
+    private final AtomicLong auctionsRemoved = new AtomicLong();
+    // Ids vistos en la reconstrucción en curso; solo los usa el hilo coordinador
+    private final Set<Long> seenIds = new HashSet<>();
+    private volatile int totalPages;
+    private volatile long totalElements;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    private ExecutorService coordinator;
+    private ExecutorService fetchPool;
+
+    @PostConstruct
+    public void init() {
+        coordinator = Executors.newSingleThreadExecutor();
+        fetchPool = Executors.newFixedThreadPool(fetchThreads);
+    }
+
+    // ✅ Lanza la reconstrucción en segundo plano; false si ya hay una en curso
+    public boolean startRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        pagesDone.set(0);
+        auctionsWritten.set(0);
+        auctionsRemoved.set(0);
+        totalPages = 0;
+        totalElements = 0;
+        lastError = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+
+        coordinator.submit(() -> {
+            try {
+                rebuild();
+                removeVanished();
+                auctionSearchIndex.rebuild();
+                activeAuctionCounters.reconcile();
+                auctionListingCache.invalidateAll();
+                System.out.println("✅ Reconstrucción de subastas completada: " + auctionsWritten.get() + " subastas");
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                System.err.println("❌ Error en reconstrucción de subastas: " + e.getMessage());
+            } finally {
+                seenIds.clear();
+                finishedAt = LocalDateTime.now();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("running", running.get());
+        progress.put("startedAt", startedAt);
+        progress.put("finishedAt", finishedAt);
+        progress.put("pagesDone", pagesDone.get());
+        progress.put("totalPages", totalPages);
+        progress.put("auctionsWritten", auctionsWritten.get());
+        progress.put("auctionsRemoved", auctionsRemoved.get());
+        progress.put("totalAuctions", totalElements);
+        progress.put("auctionsPerSecond", throughput());
+        progress.put("lastError", lastError);
+        return progress;
+    }
+
+    // Las páginas van por offset sobre un orden estable por id; si auction-service cambia
+    // durante la reconstrucción, el upsert es idempotente y los eventos corrigen el resto
+    private void rebuild() throws Exception {
+        AuctionPageDto first = auctionServiceClient.getAuctionPage(serviceCredential(), 0, pageSize);
+        totalPages = first.getTotalPages();
+        totalElements = first.getTotalElements();
+        write(first);
+
+        CompletionService<AuctionPageDto> fetches = new ExecutorCompletionService<>(fetchPool);
+        int maxInFlight = fetchThreads * 2;
+        int nextPage = 1;
+        int inFlight = 0;
+        while (nextPage < totalPages || inFlight > 0) {
+            while (nextPage < totalPages && inFlight < maxInFlight) {
+                int page = nextPage++;
+                fetches.submit(() -> auctionServiceClient.getAuctionPage(serviceCredential(), page, pageSize));
+                inFlight++;
+            }
+            AuctionPageDto page = fetches.take().get();
+            inFlight--;
+            write(page);
+        }
+    }
+
+    private void write(AuctionPageDto page) {
+        if (page.getAuctions() != null) {
+            page.getAuctions().forEach(auction -> seenIds.add(auction.getAuctionId()));
+            auctionsWritten.addAndGet(auctionViewBulkRepository.upsertAll(page.getAuctions()));
+        }
+        pagesDone.incrementAndGet();
+    }
+
+    // Una vista que no salió en ninguna página puede ser de una subasta creada durante la
+    // reconstrucción o saltada por el paginado por offset: solo se borra si auction-service da 404
+    private void removeVanished() {
+        List<Long> vanished = new ArrayList<>();
+        for (Long id : auctionViewBulkRepository.findLiveIds()) {
+            if (!seenIds.contains(id) && !auctionExists(id)) {
+                vanished.add(id);
             }
+        }
+        auctionsRemoved.addAndGet(auctionViewBulkRepository.tombstoneAll(vanished));
+    }
 
-            System.out.println("✅ Sincronización de subastas completada");
+    private boolean auctionExists(Long id) {
+        try {
+            auctionServiceClient.getAuction(serviceCredential(), id);
+            return true;
+        } catch (FeignException.NotFound e) {
+            return false;
+        }
+    }
+
+    // Se firma en cada petición: la reconstrucción puede durar más que cualquier caducidad fija
+    private String serviceCredential() {
+        return internalClaimsSigner.sign(SERVICE_USERNAME, SERVICE_ROLE, null, Instant.now().plusSeconds(60));
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error en sincronización de subastas: " + e.getMessage());
+    private double throughput() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
         }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return auctionsWritten.get() * 1000.0 / millis;
     }
 
-    // ✅ Método manual para sincronizar (para testing)
-    public void syncAuctionsManually() {
-        syncAuctions();
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        fetchPool.shutdownNow();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.dto.NewBidEventDto;
+import com.auction.auctionquery.model.AuctionParticipant;
+import com.auction.auctionquery.model.AuctionResultRecord;
+import com.auction.auctionquery.model.AuctionView;
+import com.auction.auctionquery.model.BidHistoryRecord;
+import com.auction.auctionquery.model.UserHistorySummary;
+import com.auction.auctionquery.repository.AuctionParticipantRepository;
+import com.auction.auctionquery.repository.AuctionResultRecordRepository;
+import com.auction.auctionquery.repository.BidHistoryRecordRepository;
+import com.auction.auctionquery.repository.UserHistorySummaryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Proyección del historial de usuario. Se ejecuta dentro de la transacción
+ * de AuctionProjectionService al aplicar cada evento, de modo que filas,
+ * totales y checkpoint avanzan juntos.
+ */
+@Component
+public class UserHistoryProjection {
+
+    private final BidHistoryRecordRepository bidHistoryRepository;
+    private final AuctionResultRecordRepository auctionResultRepository;
+    private final UserHistorySummaryRepository summaryRepository;
+    private final AuctionParticipantRepository participantRepository;
+
+    public UserHistoryProjection(BidHistoryRecordRepository bidHistoryRepository,
+                                 AuctionResultRecordRepository auctionResultRepository,
+                                 UserHistorySummaryRepository summaryRepository,
+                                 AuctionParticipantRepository participantRepository) {
+        this.bidHistoryRepository = bidHistoryRepository;
+        this.auctionResultRepository = auctionResultRepository;
+        this.summaryRepository = summaryRepository;
+        this.participantRepository = participantRepository;
+    }
+
+    // newParticipant: primera puja del usuario en esta subasta
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBid(NewBidEventDto event, AuctionView view, boolean newParticipant) {
+        if (event.getBidId() == null || event.getBidderUsername() == null
+                || bidHistoryRepository.existsById(event.getBidId())) {
+            return;
+        }
+
+        BidHistoryRecord record = new BidHistoryRecord();
+        record.setBidId(event.getBidId());
+        record.setUsername(event.getBidderUsername());
+        record.setAuctionId(Long.valueOf(event.getAuctionId()));
+        record.setAuctionDescription(view != null ? view.getDescripcion() : null);
+        record.setBidAmount(event.getNewPrice());
+        record.setBidTime(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now());
+        bidHistoryRepository.save(record);
+
+        if (newParticipant) {
+            UserHistorySummary summary = summary(event.getBidderUsername());
+            summary.setTotalAuctionsParticipated(summary.getTotalAuctionsParticipated() + 1);
+            summaryRepository.save(summary);
+        }
+
+        // Pujas y subastas llegan por colas distintas, sin orden entre sí: una puja que llega
+        // después de la finalización puede cambiar el ganador, así que se recalcula el resultado
+        if (view != null && view.getFinishedAt() != null) {
+            recordAuctionFinished(view, view.getFinishedAt());
+        }
+    }
+
+    // Al finalizar: la puja más alta gana y cada participante recibe su resultado.
+    // Es idempotente y se puede repetir: recalcula los resultados y ajusta los totales por diferencia
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAuctionFinished(AuctionView view, LocalDateTime finishedAt) {
+        Optional<BidHistoryRecord> winningBid = bidHistoryRepository.findTopByAuctionIdOrderByBidAmountDesc(view.getId());
+        String winner = winningBid.map(BidHistoryRecord::getUsername).orElse(null);
+        BigDecimal finalPrice = winningBid.map(BidHistoryRecord::getBidAmount).orElse(view.getPrecioActual());
+        bidHistoryRepository.clearWinning(view.getId());
+        winningBid.ifPresent(bid -> bidHistoryRepository.markWinning(bid.getBidId()));
+
+        Map<String, AuctionResultRecord> existing = new HashMap<>();
+        for (AuctionResultRecord result : auctionResultRepository.findByAuctionId(view.getId())) {
+            existing.put(result.getUsername(), result);
+        }
+
+        LocalDateTime endTime = view.getFechaFin() != null ? view.getFechaFin() : finishedAt;
+        for (AuctionParticipant participant : participantRepository.findByAuctionId(view.getId())) {
+            String username = participant.getBidder();
+            AuctionResultRecord result = existing.get(username);
+            boolean wasWon = result != null && result.isWon();
+            BigDecimal previousPrice = result != null && result.getFinalPrice() != null
+                    ? result.getFinalPrice() : BigDecimal.ZERO;
+            boolean won = username.equals(winner);
+
+            if (result == null) {
+                result = new AuctionResultRecord();
+                result.setUsername(username);
+                result.setAuctionId(view.getId());
+                result.setAuctionDescription(view.getDescripcion());
+                result.setEndTime(endTime);
+            } else if (wasWon == won && Objects.equals(result.getFinalPrice(), finalPrice)) {
+                continue;
+            }
+            result.setFinalPrice(finalPrice);
+            result.setWon(won);
+            auctionResultRepository.save(result);
+
+            if (wasWon || won) {
+                UserHistorySummary summary = summary(username);
+                if (wasWon) {
+                    summary.setTotalAuctionsWon(summary.getTotalAuctionsWon() - 1);
+                    summary.setTotalAmountSpent(summary.getTotalAmountSpent().subtract(previousPrice));
+                }
+                if (won) {
+                    summary.setTotalAuctionsWon(summary.getTotalAuctionsWon() + 1);
+                    summary.setTotalAmountSpent(summary.getTotalAmountSpent().add(finalPrice));
+                }
+                summaryRepository.save(summary);
+            }
+        }
+    }
+
+    private UserHistorySummary summary(String username) {
+        return summaryRepository.findById(username).orElseGet(() -> new UserHistorySummary(username));
+    }
+}
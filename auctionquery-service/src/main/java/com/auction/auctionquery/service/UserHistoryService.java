@@ -4,6 +4,6 @@ import com.auction.auctionquery.model.UserHistory;
 import java.util.List;
 
 public interface UserHistoryService {
-    UserHistory getUserHistory(String username, int page, int limit);
+    UserHistory getUserHistory(String username, String bidCursor, String resultCursor, int limit);
     List<UserHistory> getUserParticipations(String username);
 }
@@ -1,91 +1,94 @@
 package com.auction.auctionquery.service;
 
+import com.auction.auctionquery.model.AuctionResultRecord;
+import com.auction.auctionquery.model.BidHistoryRecord;
 import com.auction.auctionquery.model.UserHistory;
 import com.auction.auctionquery.model.AuctionResult;
 import com.auction.auctionquery.model.BidHistory;
-import com.auction.auctionquery.repository.AuctionViewRepository;
+import com.auction.auctionquery.model.UserHistorySummary;
+import com.auction.auctionquery.repository.AuctionResultRecordRepository;
+import com.auction.auctionquery.repository.BidHistoryRecordRepository;
+import com.auction.auctionquery.repository.UserHistorySummaryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
+/**
+ * Historial de usuario servido desde la proyección alimentada por eventos
+ * (UserHistoryProjection): totales pre-agregados y páginas keyset por
+ * índice, sin llamadas a bid-service.
+ */
 @Service
 public class UserHistoryServiceImpl implements UserHistoryService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private UserHistorySummaryRepository summaryRepository;
+
     @Autowired
-    private AuctionViewRepository auctionViewRepository;
+    private BidHistoryRecordRepository bidHistoryRepository;
 
-    // ✅ AGREGAR: Cliente para comunicarse con bid-service
-    // @Autowired
-    // private BidServiceClient bidServiceClient;
+    @Autowired
+    private AuctionResultRecordRepository auctionResultRepository;
 
     @Override
-    public UserHistory getUserHistory(String username, int page, int limit) {
+    public UserHistory getUserHistory(String username, String bidCursor, String resultCursor, int limit) {
+        // Un cursor inválido es un error del cliente (IllegalArgumentException -> 400), no la primera página
+        Long resultCursorId = decodeCursor(resultCursor);
+        Long bidCursorId = decodeCursor(bidCursor);
+
         UserHistory history = new UserHistory();
         history.setUsername(username);
 
         try {
-            // ✅ TODO: Implementar consulta real a bid-service
-            // Por ahora, mantener datos de ejemplo pero indicar que es temporal
-            history.setTotalAuctionsParticipated(5);
-            history.setTotalAuctionsWon(2);
-            history.setTotalAmountSpent(new BigDecimal("1500.00"));
-
-            // ✅ Crear resultados de subastas de ejemplo (temporal)
-            List<AuctionResult> auctionResults = new ArrayList<>();
-
-            AuctionResult result1 = new AuctionResult();
-            result1.setAuctionId(1L);
-            result1.setAuctionDescription("iPhone 14 Pro");
-            result1.setFinalPrice(new BigDecimal("850.00"));
-            result1.setEndTime(LocalDateTime.now().minusDays(5));
-            result1.setWon(true);
-            auctionResults.add(result1);
-
-            AuctionResult result2 = new AuctionResult();
-            result2.setAuctionId(2L);
-            result2.setAuctionDescription("Laptop Gaming");
-            result2.setFinalPrice(new BigDecimal("1300.00"));
-            result2.setEndTime(LocalDateTime.now().minusDays(3));
-            result2.setWon(false);
-            auctionResults.add(result2);
-
-            // ✅ Aplicar paginación simple
-            int startIndex = page * limit;
-            int endIndex = Math.min(startIndex + limit, auctionResults.size());
-            if (startIndex < auctionResults.size()) {
-                history.setAuctionResults(auctionResults.subList(startIndex, endIndex));
-            } else {
-                history.setAuctionResults(new ArrayList<>());
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+            // ✅ Totales pre-agregados
+            UserHistorySummary summary = summaryRepository.findById(username).orElse(null);
+            history.setTotalAuctionsParticipated(summary != null ? summary.getTotalAuctionsParticipated() : 0);
+            history.setTotalAuctionsWon(summary != null ? summary.getTotalAuctionsWon() : 0);
+            history.setTotalAmountSpent(summary != null ? summary.getTotalAmountSpent() : BigDecimal.ZERO);
+
+            // ✅ Resultados de subastas, del más reciente al más antiguo
+            List<AuctionResultRecord> results = auctionResultRepository.findByUsernameAndIdLessThanOrderByIdDesc(
+                    username, resultCursorId, PageRequest.of(0, pageSize));
+            List<AuctionResult> auctionResults = new ArrayList<>(results.size());
+            for (AuctionResultRecord record : results) {
+                AuctionResult result = new AuctionResult();
+                result.setAuctionId(record.getAuctionId());
+                result.setAuctionDescription(record.getAuctionDescription());
+                result.setFinalPrice(record.getFinalPrice());
+                result.setEndTime(record.getEndTime());
+                result.setWon(record.isWon());
+                auctionResults.add(result);
             }
-
-            // ✅ Crear historial de pujas de ejemplo (temporal)
-            List<BidHistory> bidHistory = new ArrayList<>();
-
-            BidHistory bid1 = new BidHistory();
-            bid1.setAuctionId(1L);
-            bid1.setAuctionTitle("iPhone 14 Pro");
-            bid1.setBidAmount(new BigDecimal("850.00"));
-            bid1.setBidTime(LocalDateTime.now().minusDays(5));
-            bid1.setWinningBid(true);
-            bidHistory.add(bid1);
-
-            BidHistory bid2 = new BidHistory();
-            bid2.setAuctionId(2L);
-            bid2.setAuctionTitle("Laptop Gaming");
-            bid2.setBidAmount(new BigDecimal("1250.00"));
-            bid2.setBidTime(LocalDateTime.now().minusDays(3));
-            bid2.setWinningBid(false);
-            bidHistory.add(bid2);
-
-            // ✅ Aplicar paginación simple al historial de pujas
-            if (startIndex < bidHistory.size()) {
-                history.setBidHistory(bidHistory.subList(startIndex, Math.min(endIndex, bidHistory.size())));
-            } else {
-                history.setBidHistory(new ArrayList<>());
+            history.setAuctionResults(auctionResults);
+            history.setNextResultCursor(results.size() == pageSize
+                    ? encodeCursor(results.get(results.size() - 1).getId()) : null);
+
+            // ✅ Historial de pujas, de la más reciente a la más antigua
+            List<BidHistoryRecord> bids = bidHistoryRepository.findByUsernameAndBidIdLessThanOrderByBidIdDesc(
+                    username, bidCursorId, PageRequest.of(0, pageSize));
+            List<BidHistory> bidHistory = new ArrayList<>(bids.size());
+            for (BidHistoryRecord record : bids) {
+                BidHistory bid = new BidHistory();
+                bid.setAuctionId(record.getAuctionId());
+                bid.setAuctionTitle(record.getAuctionDescription());
+                bid.setAuctionDescription(record.getAuctionDescription());
+                bid.setBidAmount(record.getBidAmount());
+                bid.setBidTime(record.getBidTime());
+                bid.setWinningBid(record.isWinningBid());
+                bidHistory.add(bid);
             }
+            history.setBidHistory(bidHistory);
+            history.setNextBidCursor(bids.size() == pageSize
+                    ? encodeCursor(bids.get(bids.size() - 1).getBidId()) : null);
 
         } catch (Exception e) {
             System.err.println("Error al obtener historial de usuario: " + e.getMessage());
@@ -103,7 +106,24 @@ public class UserHistoryServiceImpl implements UserHistoryService {
     @Override
     public List<UserHistory> getUserParticipations(String username) {
         List<UserHistory> participations = new ArrayList<>();
-        participations.add(getUserHistory(username, 0, 10));
+        participations.add(getUserHistory(username, null, null, 10));
         return participations;
     }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Sin cursor se empieza por el más reciente
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.auction.auctionquery.service;
+
+import com.auction.auctionquery.dto.AuctionEventDto;
+import com.auction.auctionquery.repository.AuctionViewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class AuctionSearchIndexTest {
+
+    private AuctionSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new AuctionSearchIndex(mock(AuctionViewRepository.class));
+        index.init();
+        index.apply(event(1L, "Cámara réflex Canon con objetivo", "fotografia"), 1L);
+        index.apply(event(2L, "Relojes antiguos de bolsillo", "coleccionismo"), 2L);
+        index.apply(event(3L, "Bicicleta de montaña", "deportes"), 3L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void accentsAndCaseAreFolded() throws Exception {
+        assertEquals(List.of(1L), ids("camara"));
+        assertEquals(List.of(1L), ids("CÁMARA REFLEX"));
+        assertEquals(List.of(3L), ids("montana"));
+    }
+
+    @Test
+    void pluralsAndSingularsShareTheirStem() throws Exception {
+        assertEquals(List.of(2L), ids("reloj"));
+        assertEquals(List.of(2L), ids("antigua"));
+        assertEquals(List.of(1L), ids("objetivos"));
+    }
+
+    @Test
+    void everyWordAlsoMatchesAsPrefix() throws Exception {
+        assertEquals(List.of(3L), ids("bici"));
+        assertEquals(List.of(2L), ids("bols"));
+        assertTrue(ids("bici reloj").isEmpty());
+    }
+
+    @Test
+    void olderOrRedeliveredEventsAreIgnored() throws Exception {
+        AuctionEventDto finished = event(3L, "Bicicleta de montaña", "deportes");
+        finished.setEstado("finalizada");
+        index.apply(finished, 10L);
+        index.apply(event(3L, "Bicicleta de montaña", "deportes"), 3L);
+
+        assertTrue(ids("bicicleta").isEmpty());
+    }
+
+    @Test
+    void negativePageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("camara", null, -1, 10, true));
+    }
+
+    private List<Long> ids(String searchTerm) throws Exception {
+        return index.search(searchTerm, null, 0, 10, true).getIds();
+    }
+
+    private AuctionEventDto event(Long auctionId, String description, String category) {
+        AuctionEventDto event = new AuctionEventDto();
+        event.setEventType("updated");
+        event.setAuctionId(auctionId);
+        event.setDescription(description);
+        event.setItemCategory(category);
+        event.setEstado("activa");
+        event.setFechaInicio(LocalDateTime.now().minusHours(1));
+        return event;
+    }
+}
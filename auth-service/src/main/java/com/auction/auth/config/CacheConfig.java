@@ -0,0 +1,31 @@
+package com.auction.auth.config;
+
+import com.auction.auth.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    // Identidad de usuarios por email. Las comprobaciones de credenciales y el rol del
+    // refresh no la leen (getUserByEmailFresh), solo la refrescan; el TTL corto acota
+    // lo que queda obsoleto si se pierde un evento de user-service (métricas con tag cache=users)
+    @Bean
+    public Cache<String, UserDto> userCache(MeterRegistry meterRegistry,
+                                            @Value("${auth-cache.users.max-size:50000}") long maxSize,
+                                            @Value("${auth-cache.users.ttl-seconds:5}") long ttlSeconds) {
+        Cache<String, UserDto> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+}
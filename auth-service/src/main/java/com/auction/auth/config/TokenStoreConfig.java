@@ -0,0 +1,31 @@
+package com.auction.auth.config;
+
+import com.auction.auth.store.CachingTokenStore;
+import com.auction.auth.store.InMemoryTokenStore;
+import com.auction.auth.store.JdbcTokenStore;
+import com.auction.auth.store.TokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class TokenStoreConfig {
+
+    // jdbc: compartido en auth_db entre réplicas; memory: local al proceso (desarrollo)
+    @Bean
+    public TokenStore tokenStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                 @Value("${auth.tokenStore.type:jdbc}") String type,
+                                 @Value("${auth.tokenStore.purgeBatchSize:1000}") int purgeBatchSize,
+                                 @Value("${auth.tokenStore.nearCache.maxSize:100000}") long maxSize,
+                                 @Value("${auth.tokenStore.nearCache.negativeTtlMs:2000}") long negativeTtlMs,
+                                 @Value("${auth.tokenStore.nearCache.refreshTtlMs:2000}") long refreshTtlMs) {
+        if ("memory".equalsIgnoreCase(type)) {
+            System.out.println("⚠️ Token store en memoria: las revocaciones no se comparten entre réplicas");
+            return new InMemoryTokenStore();
+        }
+        TokenStore jdbcStore = new JdbcTokenStore(jdbcTemplate, purgeBatchSize);
+        return new CachingTokenStore(jdbcStore, meterRegistry, maxSize, negativeTtlMs, refreshTtlMs);
+    }
+}
@@ -4,6 +4,7 @@ import com.auction.auth.dto.*;
 import com.auction.auth.security.JwtUtils;
 import com.auction.auth.service.TokenService;
 import com.auction.auth.service.UserDetailsServiceImpl;
+import com.auction.auth.service.UserIdentityService;
 import com.auction.auth.service.UserServiceClient;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,8 @@ public class AuthController {
     private UserDetailsServiceImpl userDetailsService;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private UserIdentityService userIdentityService;
 
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
@@ -50,7 +53,7 @@ public class AuthController {
             String currentRole;
             try {
                 System.out.println("🔄 [LOGIN] Consulting current role from DB...");
-                UserDto userDto = userServiceClient.getUserByEmail(loginRequest.getEmail());
+                UserDto userDto = userIdentityService.getUserByEmail(loginRequest.getEmail());
                 currentRole = userDto.getRole() != null ? userDto.getRole() : "PARTICIPANTE";
                 System.out.println("🔄 [LOGIN] Current role from DB: " + currentRole);
             } catch (Exception e) {
@@ -127,7 +130,7 @@ public class AuthController {
             // 🔄 NUEVO: Obtener rol actualizado desde la base de datos
             String updatedRole;
             try {
-                UserDto userDto = userServiceClient.getUserByEmail(username);
+                UserDto userDto = userIdentityService.getUserByEmailFresh(username);
                 updatedRole = userDto.getRole() != null ? userDto.getRole() : "PARTICIPANTE";
                 System.out.println("🔄 [REFRESH] Updated role from DB: " + updatedRole);
             } catch (Exception e) {
@@ -0,0 +1,57 @@
+package com.auction.auth.controller;
+
+import com.auction.auth.service.RevocationFilterService;
+import com.auction.auth.service.TokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Endpoints internos para el API Gateway: el filtro de Bloom de tokens
+ * revocados y la comprobación exacta de un token (por su hash) cuando el
+ * filtro da un posible positivo. No exponen tokens ni usuarios.
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    private final RevocationFilterService revocationFilterService;
+    private final TokenService tokenService;
+
+    public RevocationController(RevocationFilterService revocationFilterService, TokenService tokenService) {
+        this.revocationFilterService = revocationFilterService;
+        this.tokenService = tokenService;
+    }
+
+    // 304 si el gateway ya tiene esta versión (If-None-Match)
+    @GetMapping("/filter")
+    public ResponseEntity<byte[]> getFilter(WebRequest webRequest) {
+        RevocationFilterService.Snapshot snapshot = revocationFilterService.getSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(snapshot.getBytes());
+    }
+
+    @GetMapping("/{tokenId}")
+    public ResponseEntity<?> isRevoked(@PathVariable String tokenId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("tokenId", tokenId);
+        response.put("revoked", tokenService.isTokenIdRevoked(tokenId));
+        return ResponseEntity.ok(response);
+    }
+}
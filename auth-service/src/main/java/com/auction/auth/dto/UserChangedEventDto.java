@@ -0,0 +1,45 @@
+package com.auction.auth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por user-service cuando cambia la identidad de un usuario.
+ * Los servicios que guardan usuarios en caché lo usan para invalidarla.
+ */
+public class UserChangedEventDto {
+    private String eventType;
+    private Long userId;
+    private String email;
+    private String previousEmail;
+    private String username;
+    private String role;
+    private Boolean active;
+    private LocalDateTime occurredAt;
+
+    public UserChangedEventDto() {}
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    // Email anterior cuando la actualización lo cambia (null en otro caso)
+    public String getPreviousEmail() { return previousEmail; }
+    public void setPreviousEmail(String previousEmail) { this.previousEmail = previousEmail; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,39 @@
+package com.auction.auth.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Refresh token vigente de cada usuario, guardado solo como hash.
+ * La tabla la usa JdbcTokenStore; la entidad define el esquema.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt"))
+public class RefreshTokenEntry {
+    @Id
+    private String username;
+
+    @Column(nullable = false)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant updatedAt;
+
+    // Constructors
+    public RefreshTokenEntry() {}
+
+    // Getters and setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,39 @@
+package com.auction.auth.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Token revocado, indexado por su hash. Deja de contar al llegar al exp del
+ * token (después ya no es válido de todas formas) y se purga más tarde.
+ * La tabla la usa JdbcTokenStore; la entidad define el esquema.
+ */
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"))
+public class RevokedTokenEntry {
+    @Id
+    private String tokenHash;
+
+    private String username;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+
+    // Constructors
+    public RevokedTokenEntry() {}
+
+    // Getters and setters
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+}
@@ -1,19 +1,19 @@
 package com.auction.auth.security;
 
+import com.auction.security.JwtTokenParser;
+import com.auction.security.TokenClaims;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Component
 public class JwtUtils {
-    @Value("${auth.jwtSecret}")
-    private String jwtSecret;
+    @Autowired
+    private JwtTokenParser jwtTokenParser;
 
     @Value("${auth.jwtExpirationMs}")
     private int jwtExpirationMs;
@@ -21,10 +21,6 @@ public class JwtUtils {
     @Value("${auth.jwtRefreshExpirationMs:604800000}") // 7 días por defecto
     private int jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
-
     // Generar access token normal
     public String generateAccessToken(Authentication authentication) {
         org.springframework.security.core.userdetails.User userPrincipal = (org.springframework.security.core.userdetails.User) authentication.getPrincipal();
@@ -33,7 +29,7 @@ public class JwtUtils {
                 .claim("type", "access")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenParser.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -45,7 +41,7 @@ public class JwtUtils {
                 .claim("type", "refresh")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenParser.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -59,7 +55,7 @@ public class JwtUtils {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenParser.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -73,94 +69,44 @@ public class JwtUtils {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenParser.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // ✅ Las validaciones usan el parser compartido: una sola verificación por token y petición
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+        return jwtTokenParser.parseForRequest(token).getUsername();
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken)
-                    .getBody();
-
-            // Si no tiene tipo, es un token legacy (válido)
-            // Si tiene tipo, debe ser "access" para tokens de acceso
-            Object type = claims.get("type");
-            return type == null || "access".equals(type);
-        } catch (Exception e) {
-            return false;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(authToken);
+        // Si no tiene tipo, es un token legacy (válido)
+        // Si tiene tipo, debe ser "access" para tokens de acceso
+        return claims != null && (claims.getType() == null || "access".equals(claims.getType()));
     }
 
     // Validar access token específicamente
     public boolean validateAccessToken(String accessToken) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(accessToken)
-                .getBody();
-            
-            // Verificar que es un access token
-            return "access".equals(claims.get("type"));
-        } catch (Exception e) {
-            return false;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(accessToken);
+        return claims != null && "access".equals(claims.getType());
     }
 
     public boolean validateRefreshToken(String refreshToken) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(refreshToken)
-                    .getBody();
-
-            // Verificar que es un refresh token
-            return "refresh".equals(claims.get("type"));
-        } catch (Exception e) {
-            return false;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(refreshToken);
+        // Verificar que es un refresh token
+        return claims != null && "refresh".equals(claims.getType());
     }
 
     // Obtener el tipo de token (access o refresh)
     public String getTokenType(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return (String) claims.get("type");
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(token);
+        return claims != null ? claims.getType() : null;
     }
 
     // Obtener fecha de expiración del token
     public Date getExpirationFromToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return claims.getExpiration();
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(token);
+        return claims != null ? claims.getExpiration() : null;
     }
 
     // Verificar si el token está expirado
@@ -171,16 +117,8 @@ public class JwtUtils {
 
     // Metodo para extraer rol del token
     public String getRoleFromJwtToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("role", String.class);
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(token);
+        return claims != null ? claims.getRole() : null;
     }
 
     // Métodos legacy para compatibilidad
@@ -1,6 +1,10 @@
 package com.auction.auth.security;
 
 import com.auction.auth.security.JwtUtils;
+import com.auction.security.InternalClaimsVerifier;
+import com.auction.security.authz.RouteAuthorizationTable;
+import com.auction.security.authz.ServiceRoutes;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,13 +14,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
 
+    // ✅ Tabla de rutas compilada una sola vez; las reglas se evalúan en el orden declarado
+    private static final RouteAuthorizationTable ROUTES = ServiceRoutes.AUTH_SERVICE;
+
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private InternalClaimsVerifier internalClaimsVerifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -25,22 +40,21 @@ public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
         String method = request.getMethod();
 
         // Verificar si es un endpoint público ANTES de validar el token
-        if (isPublicEndpoint(requestPath)) {
+        if (ROUTES.isPublic(requestPath)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Obtener token solo para endpoints protegidos
-        String token = parseJwt(request);
+        // Rol firmado por el API Gateway; sin esa cabecera se verifica el JWT
+        InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+        String token = claims == null ? parseJwt(request) : null;
 
-        if (token != null && jwtUtils.validateJwtToken(token)) {
-            String userRole = jwtUtils.getRoleFromJwtToken(token);
+        if (claims != null || (token != null && jwtUtils.validateJwtToken(token))) {
+            String userRole = claims != null ? claims.getRole() : jwtUtils.getRoleFromJwtToken(token);
 
             // Validar acceso por rol
-            if (!hasRequiredRole(requestPath, method, userRole)) {
-                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Insufficient permissions\", \"requiredRole\":\"" + getRequiredRole(requestPath, method) + "\", \"userRole\":\"" + userRole + "\"}");
+            if (!ROUTES.isAllowed(requestPath, method, userRole)) {
+                writeForbidden(response, requestPath, method, userRole);
                 return;
             }
         } else {
@@ -54,66 +68,14 @@ public class RoleBasedAuthorizationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean hasRequiredRole(String path, String method, String userRole) {
-        // Endpoints públicos (no requieren roles específicos)
-        if (isPublicEndpoint(path)) {
-            return true;
-        }
-
-        // Si no hay rol en el token, solo permitir endpoints públicos
-        if (userRole == null) {
-            return false;
-        }
-
-        // API 1.2 - Solo Administrador
-        if (path.contains("/admin/users")) {
-            return "ADMINISTRADOR".equals(userRole);
-        }
-
-        // API 2 - Solo Moderador y Administrador
-        if (path.contains("/productos") || path.contains("/subastas")) {
-            return "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
-        }
-
-        // API 3 y 4 - Participante, Moderador o Administrador
-        if (path.contains("/pujas") || path.contains("/usuarios/me")) {
-            return "PARTICIPANTE".equals(userRole) || "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
-        }
-
-        // Endpoints específicos del auth-service
-        if (path.startsWith("/auth/")) {
-            return true; // Los endpoints de auth manejan su propia autorización
-        }
-
-        return true; // Otros endpoints no restringidos
-    }
-
-    private String getRequiredRole(String path, String method) {
-        if (path.contains("/admin/users")) {
-            return "ADMINISTRADOR";
-        }
-        if (path.contains("/productos") || path.contains("/subastas")) {
-            return "MODERADOR";
-        }
-        if (path.contains("/pujas") || path.contains("/usuarios/me")) {
-            return "PARTICIPANTE";
-        }
-        return "NONE";
-    }
-
-    private boolean isPublicEndpoint(String path) {
-        return path.equals("/") ||
-                path.equals("/register") ||
-                path.equals("/login") ||
-                path.equals("/refreshToken") ||
-                path.equals("/validateToken") ||
-                path.startsWith("/auth/login") ||
-                path.startsWith("/auth/register") ||
-                path.startsWith("/auth/validateToken") ||
-                path.startsWith("/health") ||
-                path.startsWith("/actuator") ||
-                path.startsWith("/swagger") ||
-                path.startsWith("/v3/api-docs");
+    private void writeForbidden(HttpServletResponse response, String path, String method, String userRole) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "Insufficient permissions");
+        body.put("requiredRole", ROUTES.requiredRole(path, method));
+        body.put("userRole", userRole);
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType("application/json");
+        objectMapper.writeValue(response.getWriter(), body);
     }
 
     private String parseJwt(HttpServletRequest request) {
@@ -55,6 +55,7 @@ public class WebSecurityConfig {
                 .requestMatchers("/login").permitAll()
                 .requestMatchers("/refreshToken").permitAll()
                 .requestMatchers("/validateToken").permitAll()
+                .requestMatchers("/internal/revocations/**").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
@@ -0,0 +1,111 @@
+package com.auction.auth.service;
+
+import com.auction.auth.store.TokenStore;
+import com.auction.security.RevocationBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Filtro de Bloom de los tokens revocados vigentes que descarga el API
+ * Gateway. Se reconstruye periódicamente desde el TokenStore (así salen los
+ * tokens ya caducados y entran las revocaciones hechas en otras réplicas) y
+ * las revocaciones de esta réplica se añaden al momento.
+ */
+@Service
+public class RevocationFilterService {
+
+    private final TokenStore tokenStore;
+
+    @Value("${auth.revocationFilter.fpp:0.01}")
+    private double fpp;
+
+    @Value("${auth.revocationFilter.minInsertions:10000}")
+    private long minInsertions;
+
+    private volatile RevocationBloomFilter current;
+    // Filtro en construcción: recibe también las revocaciones que llegan durante el recorrido
+    private volatile RevocationBloomFilter building;
+    // Cambia con cada modificación del filtro; invalida el snapshot serializado
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public RevocationFilterService(TokenStore tokenStore) {
+        this.tokenStore = tokenStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocationFilter.rebuildMs:10000}", initialDelayString = "${auth.revocationFilter.rebuildMs:10000}")
+    public synchronized void rebuild() {
+        try {
+            // Margen para las revocaciones que lleguen hasta la próxima reconstrucción
+            long expected = Math.max(minInsertions, tokenStore.countRevokedTokens() * 2);
+            RevocationBloomFilter filter = RevocationBloomFilter.create(expected, fpp);
+            building = filter;
+            tokenStore.forEachRevokedToken(filter::put);
+            current = filter;
+            version.incrementAndGet();
+        } catch (Exception e) {
+            System.err.println("Error rebuilding revocation filter: " + e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // Llamar después de guardar la revocación en el TokenStore
+    public void onRevoked(String tokenHash) {
+        RevocationBloomFilter filter = current;
+        if (filter != null) {
+            filter.put(tokenHash);
+        }
+        RevocationBloomFilter next = building;
+        if (next != null) {
+            next.put(tokenHash);
+        }
+        version.incrementAndGet();
+    }
+
+    // Filtro serializado y su ETag; null hasta la primera construcción
+    public Snapshot getSnapshot() {
+        long currentVersion = version.get();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.version == currentVersion) {
+            return cached;
+        }
+        RevocationBloomFilter filter = current;
+        if (filter == null) {
+            return null;
+        }
+        byte[] bytes = filter.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        // El ETag depende solo del contenido: todas las réplicas con los mismos datos dan el mismo
+        cached = new Snapshot(bytes, "\"" + Long.toHexString(crc.getValue()) + "-" + bytes.length + "\"", currentVersion);
+        snapshot = cached;
+        return cached;
+    }
+
+    public static class Snapshot {
+        private final byte[] bytes;
+        private final String etag;
+        private final long version;
+
+        Snapshot(byte[] bytes, String etag, long version) {
+            this.bytes = bytes;
+            this.etag = etag;
+            this.version = version;
+        }
+
+        public byte[] getBytes() { return bytes; }
+        public String getEtag() { return etag; }
+    }
+}
@@ -1,14 +1,18 @@
 package com.auction.auth.service;
 
 import com.auction.auth.security.JwtUtils;
+import com.auction.auth.store.TokenStore;
+import com.auction.security.TokenDigest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TokenService {
@@ -16,9 +20,15 @@ public class TokenService {
     @Autowired
     private JwtUtils jwtUtils;
 
-    // En producción, esto debería ser una base de datos o Redis
-    private final Map<String, String> refreshTokenStore = new ConcurrentHashMap<>();
-    private final Map<String, String> revokedTokens = new ConcurrentHashMap<>();
+    // ✅ Refresh tokens y revocaciones en auth_db (con near-cache), compartidos entre réplicas
+    @Autowired
+    private TokenStore tokenStore;
+
+    @Autowired
+    private RevocationFilterService revocationFilterService;
+
+    @Value("${auth.jwtRefreshExpirationMs:604800000}")
+    private long jwtRefreshExpirationMs;
 
     // ✅ NUEVO: Generar tokens con roles
     public Map<String, String> generateTokensWithRole(Authentication authentication, String role) {
@@ -27,7 +37,7 @@ public class TokenService {
 
         // Almacenar el refresh token
         String username = authentication.getName();
-        refreshTokenStore.put(username, refreshToken);
+        tokenStore.saveRefreshToken(username, TokenDigest.sha256(refreshToken), expiresAt(refreshToken));
 
         Map<String, String> tokens = new HashMap<>();
         tokens.put("accessToken", accessToken);
@@ -58,8 +68,8 @@ public class TokenService {
         String role = jwtUtils.getRoleFromJwtToken(refreshToken);
 
         // Verificar que el refresh token almacenado coincida
-        String storedRefreshToken = refreshTokenStore.get(username);
-        if (!refreshToken.equals(storedRefreshToken)) {
+        TokenStore.StoredRefreshToken storedRefreshToken = tokenStore.findRefreshToken(username);
+        if (storedRefreshToken == null || !TokenDigest.sha256(refreshToken).equals(storedRefreshToken.getTokenHash())) {
             throw new RuntimeException("Refresh token not found or expired");
         }
 
@@ -78,9 +88,10 @@ public class TokenService {
 
     // ✅ NUEVO: Revocar refresh token
     public boolean revokeRefreshToken(String username) {
-        String refreshToken = refreshTokenStore.remove(username);
+        TokenStore.StoredRefreshToken refreshToken = tokenStore.removeRefreshToken(username);
         if (refreshToken != null) {
-            revokedTokens.put(refreshToken, username);
+            tokenStore.revoke(refreshToken.getTokenHash(), username, refreshToken.getExpiresAt());
+            revocationFilterService.onRevoked(refreshToken.getTokenHash());
             return true;
         }
         return false;
@@ -90,13 +101,12 @@ public class TokenService {
     public boolean revokeToken(String token) {
         try {
             String username = jwtUtils.getUserNameFromJwtToken(token);
-            revokedTokens.put(token, username);
+            String tokenHash = TokenDigest.sha256(token);
+            tokenStore.revoke(tokenHash, username, expiresAt(token));
+            revocationFilterService.onRevoked(tokenHash);
 
             // Si es refresh token, también remover del store
-            String refreshToken = refreshTokenStore.get(username);
-            if (token.equals(refreshToken)) {
-                refreshTokenStore.remove(username);
-            }
+            tokenStore.removeRefreshToken(username, tokenHash);
 
             return true;
         } catch (Exception e) {
@@ -106,13 +116,18 @@ public class TokenService {
 
     // ✅ NUEVO: Verificar si token está revocado
     public boolean isTokenRevoked(String token) {
-        return revokedTokens.containsKey(token);
+        return isTokenIdRevoked(TokenDigest.sha256(token));
+    }
+
+    // Comprobación exacta por hash (TokenDigest), para el gateway
+    public boolean isTokenIdRevoked(String tokenId) {
+        return tokenStore.isRevoked(tokenId);
     }
 
     // ✅ NUEVO: Validar si refresh token es válido
     public boolean isRefreshTokenValid(String username, String refreshToken) {
-        String storedToken = refreshTokenStore.get(username);
-        return storedToken != null && storedToken.equals(refreshToken) &&
+        TokenStore.StoredRefreshToken storedToken = tokenStore.findRefreshToken(username);
+        return storedToken != null && storedToken.getTokenHash().equals(TokenDigest.sha256(refreshToken)) &&
                 jwtUtils.validateRefreshToken(refreshToken) &&
                 !isTokenRevoked(refreshToken);
     }
@@ -148,26 +163,30 @@ public class TokenService {
         return tokenInfo;
     }
 
-    // ✅ NUEVO: Limpiar tokens expirados (mantenimiento)
+    // ✅ Limpiar tokens expirados (mantenimiento). Las entradas caducadas ya no cuentan; esto solo libera espacio
+    @Scheduled(fixedDelayString = "${auth.tokenStore.purgeMs:600000}")
     public void cleanupExpiredTokens() {
-        // Remover tokens expirados del store
-        refreshTokenStore.entrySet().removeIf(entry -> {
-            String token = entry.getValue();
-            return jwtUtils.isTokenExpired(token);
-        });
-
-        // Remover tokens revocados expirados
-        revokedTokens.entrySet().removeIf(entry -> {
-            String token = entry.getKey();
-            return jwtUtils.isTokenExpired(token);
-        });
+        try {
+            int purged = tokenStore.purgeExpired(Instant.now());
+            if (purged > 0) {
+                System.out.println("🧹 Tokens caducados eliminados: " + purged);
+            }
+        } catch (Exception e) {
+            System.err.println("Error purging expired tokens: " + e.getMessage());
+        }
     }
 
     // ✅ NUEVO: Obtener sesiones activas
     public Map<String, Object> getActiveSessions() {
         Map<String, Object> sessions = new HashMap<>();
-        sessions.put("activeRefreshTokens", refreshTokenStore.size());
-        sessions.put("revokedTokens", revokedTokens.size());
+        sessions.put("activeRefreshTokens", tokenStore.countActiveRefreshTokens());
+        sessions.put("revokedTokens", tokenStore.countRevokedTokens());
         return sessions;
     }
+
+    // Exp del token; los tokens sin exp se guardan durante la vida de un refresh token
+    private Instant expiresAt(String token) {
+        Date expiration = jwtUtils.getExpirationFromToken(token);
+        return expiration != null ? expiration.toInstant() : Instant.now().plusMillis(jwtRefreshExpirationMs);
+    }
 }
\ No newline at end of file
@@ -14,12 +14,12 @@ import java.util.ArrayList;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserIdentityService userIdentityService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         try {
-            UserDto user = userServiceClient.getUserByEmail(email);
+            UserDto user = userIdentityService.getUserByEmailFresh(email);
             if (user == null) {
                 throw new UsernameNotFoundException("User not found with email: " + email);
             }
@@ -0,0 +1,21 @@
+package com.auction.auth.service;
+
+import com.auction.auth.dto.UserChangedEventDto;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEventListener {
+
+    private final UserIdentityService userIdentityService;
+
+    public UserEventListener(UserIdentityService userIdentityService) {
+        this.userIdentityService = userIdentityService;
+    }
+
+    @RabbitListener(queues = "#{userEventsQueue.name}")
+    public void onUserChanged(UserChangedEventDto event) {
+        userIdentityService.invalidate(event.getEmail());
+        userIdentityService.invalidate(event.getPreviousEmail());
+    }
+}
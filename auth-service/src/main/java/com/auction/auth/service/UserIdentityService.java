@@ -0,0 +1,39 @@
+package com.auction.auth.service;
+
+import com.auction.auth.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserIdentityService {
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<String, UserDto> userCache;
+
+    public UserIdentityService(UserServiceClient userServiceClient, Cache<String, UserDto> userCache) {
+        this.userServiceClient = userServiceClient;
+        this.userCache = userCache;
+    }
+
+    // Devuelve null si user-service no conoce el email (no se guarda en caché)
+    public UserDto getUserByEmail(String email) {
+        return userCache.get(email, userServiceClient::getUserByEmail);
+    }
+
+    // Para comprobar credenciales: siempre consulta user-service y refresca la entrada en caché
+    public UserDto getUserByEmailFresh(String email) {
+        UserDto user = userServiceClient.getUserByEmail(email);
+        if (user != null) {
+            userCache.put(email, user);
+        } else {
+            userCache.invalidate(email);
+        }
+        return user;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            userCache.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.auction.auth.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Near-cache en memoria delante de otro TokenStore (normalmente el JDBC).
+ * Una revocación confirmada se guarda hasta el exp del token, porque no se
+ * puede deshacer. Los "no revocado" y los refresh tokens se guardan poco
+ * tiempo (negativeTtlMs / refreshTtlMs): es el retraso máximo con el que
+ * esta réplica ve los cambios hechos por otra. Los cambios de esta propia
+ * réplica se reflejan en la caché al momento.
+ */
+public class CachingTokenStore implements TokenStore {
+
+    // Marca de "no revocado" en la caché (Caffeine no admite valores null)
+    private static final Instant NOT_REVOKED = Instant.EPOCH;
+
+    private final TokenStore delegate;
+    private final Cache<String, Instant> revokedCache;
+    private final Cache<String, Optional<StoredRefreshToken>> refreshCache;
+
+    public CachingTokenStore(TokenStore delegate, MeterRegistry meterRegistry,
+                             long maxSize, long negativeTtlMs, long refreshTtlMs) {
+        this.delegate = delegate;
+        this.revokedCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new RevocationExpiry(negativeTtlMs))
+                .recordStats()
+                .<String, Instant>build(), "revoked-tokens");
+        this.refreshCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(refreshTtlMs))
+                .recordStats()
+                .<String, Optional<StoredRefreshToken>>build(), "refresh-tokens");
+    }
+
+    @Override
+    public void saveRefreshToken(String username, String tokenHash, Instant expiresAt) {
+        delegate.saveRefreshToken(username, tokenHash, expiresAt);
+        refreshCache.put(username, Optional.of(new StoredRefreshToken(tokenHash, expiresAt)));
+    }
+
+    @Override
+    public StoredRefreshToken findRefreshToken(String username) {
+        StoredRefreshToken stored = refreshCache.get(username, u -> Optional.ofNullable(delegate.findRefreshToken(u)))
+                .orElse(null);
+        return stored != null && !stored.isExpired(Instant.now()) ? stored : null;
+    }
+
+    @Override
+    public StoredRefreshToken removeRefreshToken(String username) {
+        StoredRefreshToken removed = delegate.removeRefreshToken(username);
+        refreshCache.put(username, Optional.empty());
+        return removed;
+    }
+
+    @Override
+    public boolean removeRefreshToken(String username, String tokenHash) {
+        boolean removed = delegate.removeRefreshToken(username, tokenHash);
+        refreshCache.invalidate(username);
+        return removed;
+    }
+
+    @Override
+    public void revoke(String tokenHash, String username, Instant expiresAt) {
+        delegate.revoke(tokenHash, username, expiresAt);
+        revokedCache.asMap().merge(tokenHash, expiresAt, (current, added) -> current.isAfter(added) ? current : added);
+    }
+
+    @Override
+    public Instant revokedUntil(String tokenHash) {
+        Instant until = revokedCache.get(tokenHash, hash -> {
+            Instant revoked = delegate.revokedUntil(hash);
+            return revoked != null ? revoked : NOT_REVOKED;
+        });
+        return until.isAfter(Instant.now()) ? until : null;
+    }
+
+    @Override
+    public void forEachRevokedToken(Consumer<String> action) {
+        delegate.forEachRevokedToken(action);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int purged = delegate.purgeExpired(now);
+        revokedCache.cleanUp();
+        refreshCache.cleanUp();
+        return purged;
+    }
+
+    @Override
+    public long countActiveRefreshTokens() {
+        return delegate.countActiveRefreshTokens();
+    }
+
+    @Override
+    public long countRevokedTokens() {
+        return delegate.countRevokedTokens();
+    }
+
+    // Revocados: hasta su exp. No revocados: solo negativeTtlMs
+    private static class RevocationExpiry implements Expiry<String, Instant> {
+        private final long negativeTtlMs;
+
+        RevocationExpiry(long negativeTtlMs) {
+            this.negativeTtlMs = negativeTtlMs;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Instant value, long currentTime) {
+            long ttlMs = NOT_REVOKED.equals(value)
+                    ? negativeTtlMs
+                    : value.toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Instant value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Instant value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.auction.auth.store;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * TokenStore local al proceso, para desarrollo o una única instancia:
+ * se pierde al reiniciar y no se comparte entre réplicas.
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+    private final Map<String, StoredRefreshToken> refreshTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void saveRefreshToken(String username, String tokenHash, Instant expiresAt) {
+        refreshTokens.put(username, new StoredRefreshToken(tokenHash, expiresAt));
+    }
+
+    @Override
+    public StoredRefreshToken findRefreshToken(String username) {
+        StoredRefreshToken stored = refreshTokens.get(username);
+        return stored != null && !stored.isExpired(Instant.now()) ? stored : null;
+    }
+
+    @Override
+    public StoredRefreshToken removeRefreshToken(String username) {
+        StoredRefreshToken stored = refreshTokens.remove(username);
+        return stored != null && !stored.isExpired(Instant.now()) ? stored : null;
+    }
+
+    @Override
+    public boolean removeRefreshToken(String username, String tokenHash) {
+        StoredRefreshToken stored = refreshTokens.get(username);
+        return stored != null && stored.getTokenHash().equals(tokenHash) && refreshTokens.remove(username, stored);
+    }
+
+    @Override
+    public void revoke(String tokenHash, String username, Instant expiresAt) {
+        revokedTokens.merge(tokenHash, expiresAt, (current, added) -> current.isAfter(added) ? current : added);
+    }
+
+    @Override
+    public Instant revokedUntil(String tokenHash) {
+        Instant expiresAt = revokedTokens.get(tokenHash);
+        return expiresAt != null && expiresAt.isAfter(Instant.now()) ? expiresAt : null;
+    }
+
+    @Override
+    public void forEachRevokedToken(Consumer<String> action) {
+        Instant now = Instant.now();
+        revokedTokens.forEach((tokenHash, expiresAt) -> {
+            if (expiresAt.isAfter(now)) {
+                action.accept(tokenHash);
+            }
+        });
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int before = refreshTokens.size() + revokedTokens.size();
+        refreshTokens.values().removeIf(stored -> stored.isExpired(now));
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        return Math.max(0, before - refreshTokens.size() - revokedTokens.size());
+    }
+
+    @Override
+    public long countActiveRefreshTokens() {
+        Instant now = Instant.now();
+        return refreshTokens.values().stream().filter(stored -> !stored.isExpired(now)).count();
+    }
+
+    @Override
+    public long countRevokedTokens() {
+        Instant now = Instant.now();
+        return revokedTokens.values().stream().filter(expiresAt -> expiresAt.isAfter(now)).count();
+    }
+}
@@ -0,0 +1,137 @@
+package com.auction.auth.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * TokenStore sobre auth_db (tablas refresh_token y revoked_token), compartido
+ * por todas las réplicas de auth-service. Las consultas ignoran las filas
+ * caducadas, así que la purga solo libera espacio.
+ */
+public class JdbcTokenStore implements TokenStore {
+
+    private static final String UPSERT_REFRESH_SQL =
+            "INSERT INTO refresh_token (username, token_hash, expires_at, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (username) DO UPDATE SET token_hash = excluded.token_hash, " +
+            "expires_at = excluded.expires_at, updated_at = excluded.updated_at";
+
+    private static final String FIND_REFRESH_SQL =
+            "SELECT token_hash, expires_at FROM refresh_token WHERE username = ? AND expires_at > ?";
+
+    private static final String DELETE_REFRESH_SQL =
+            "DELETE FROM refresh_token WHERE username = ? RETURNING token_hash, expires_at";
+
+    private static final String DELETE_REFRESH_IF_MATCHES_SQL =
+            "DELETE FROM refresh_token WHERE username = ? AND token_hash = ?";
+
+    // Una revocación repetida conserva el exp más lejano
+    private static final String INSERT_REVOKED_SQL =
+            "INSERT INTO revoked_token (token_hash, username, expires_at, revoked_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (token_hash) DO UPDATE SET expires_at = GREATEST(revoked_token.expires_at, excluded.expires_at)";
+
+    private static final String FIND_REVOKED_SQL =
+            "SELECT expires_at FROM revoked_token WHERE token_hash = ? AND expires_at > ?";
+
+    private static final String ACTIVE_REVOKED_SQL =
+            "SELECT token_hash FROM revoked_token WHERE expires_at > ?";
+
+    // Borrado por lotes para no abrir transacciones enormes
+    private static final String PURGE_REVOKED_SQL =
+            "DELETE FROM revoked_token WHERE token_hash IN " +
+            "(SELECT token_hash FROM revoked_token WHERE expires_at <= ? LIMIT ?)";
+
+    private static final String PURGE_REFRESH_SQL =
+            "DELETE FROM refresh_token WHERE username IN " +
+            "(SELECT username FROM refresh_token WHERE expires_at <= ? LIMIT ?)";
+
+    private static final RowMapper<StoredRefreshToken> REFRESH_MAPPER = (rs, rowNum) ->
+            new StoredRefreshToken(rs.getString("token_hash"), rs.getTimestamp("expires_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int purgeBatchSize;
+
+    public JdbcTokenStore(JdbcTemplate jdbcTemplate, int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public void saveRefreshToken(String username, String tokenHash, Instant expiresAt) {
+        jdbcTemplate.update(UPSERT_REFRESH_SQL, username, tokenHash, Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+    }
+
+    @Override
+    public StoredRefreshToken findRefreshToken(String username) {
+        List<StoredRefreshToken> rows = jdbcTemplate.query(FIND_REFRESH_SQL, REFRESH_MAPPER,
+                username, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public StoredRefreshToken removeRefreshToken(String username) {
+        List<StoredRefreshToken> rows = jdbcTemplate.query(DELETE_REFRESH_SQL, REFRESH_MAPPER, username);
+        if (rows.isEmpty() || rows.get(0).isExpired(Instant.now())) {
+            return null;
+        }
+        return rows.get(0);
+    }
+
+    @Override
+    public boolean removeRefreshToken(String username, String tokenHash) {
+        return jdbcTemplate.update(DELETE_REFRESH_IF_MATCHES_SQL, username, tokenHash) > 0;
+    }
+
+    @Override
+    public void revoke(String tokenHash, String username, Instant expiresAt) {
+        jdbcTemplate.update(INSERT_REVOKED_SQL, tokenHash, username, Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+    }
+
+    @Override
+    public Instant revokedUntil(String tokenHash) {
+        List<Timestamp> rows = jdbcTemplate.queryForList(FIND_REVOKED_SQL, Timestamp.class,
+                tokenHash, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? null : rows.get(0).toInstant();
+    }
+
+    @Override
+    public void forEachRevokedToken(Consumer<String> action) {
+        jdbcTemplate.query(ACTIVE_REVOKED_SQL, (RowCallbackHandler) rs -> action.accept(rs.getString("token_hash")),
+                Timestamp.from(Instant.now()));
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        Timestamp cutoff = Timestamp.from(now);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_REVOKED_SQL, cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        do {
+            deleted = jdbcTemplate.update(PURGE_REFRESH_SQL, cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        return total;
+    }
+
+    @Override
+    public long countActiveRefreshTokens() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_token WHERE expires_at > ?",
+                Long.class, Timestamp.from(Instant.now()));
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public long countRevokedTokens() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_token WHERE expires_at > ?",
+                Long.class, Timestamp.from(Instant.now()));
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.auction.auth.store;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de refresh tokens vigentes y de tokens revocados. Los tokens se
+ * identifican siempre por su hash (TokenDigest) y toda entrada caduca con el
+ * exp del token: una entrada caducada se trata como inexistente aunque aún
+ * no se haya purgado.
+ */
+public interface TokenStore {
+
+    // Sustituye el refresh token vigente del usuario
+    void saveRefreshToken(String username, String tokenHash, Instant expiresAt);
+
+    // null si el usuario no tiene refresh token vigente
+    StoredRefreshToken findRefreshToken(String username);
+
+    // Elimina y devuelve el refresh token del usuario; null si no tenía
+    StoredRefreshToken removeRefreshToken(String username);
+
+    // Elimina el refresh token del usuario solo si sigue siendo este
+    boolean removeRefreshToken(String username, String tokenHash);
+
+    void revoke(String tokenHash, String username, Instant expiresAt);
+
+    // Momento hasta el que el token sigue revocado; null si no está revocado
+    Instant revokedUntil(String tokenHash);
+
+    default boolean isRevoked(String tokenHash) {
+        return revokedUntil(tokenHash) != null;
+    }
+
+    // Recorre los hashes de los tokens revocados que aún no han caducado
+    void forEachRevokedToken(Consumer<String> action);
+
+    // Borra las entradas caducadas; devuelve cuántas se eliminaron
+    int purgeExpired(Instant now);
+
+    long countActiveRefreshTokens();
+
+    long countRevokedTokens();
+
+    class StoredRefreshToken {
+        private final String tokenHash;
+        private final Instant expiresAt;
+
+        public StoredRefreshToken(String tokenHash, Instant expiresAt) {
+            this.tokenHash = tokenHash;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getTokenHash() { return tokenHash; }
+        public Instant getExpiresAt() { return expiresAt; }
+
+        public boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+}
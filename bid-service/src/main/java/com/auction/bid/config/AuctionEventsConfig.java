@@ -0,0 +1,41 @@
+package com.auction.bid.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuctionEventsConfig {
+
+    @Value("${rabbitmq.exchange.auction}")
+    private String auctionExchange;
+
+    @Bean
+    public TopicExchange auctionEventsExchange() {
+        return new TopicExchange(auctionExchange, true, false);
+    }
+
+    // Cola exclusiva por instancia: cada instancia debe invalidar su propia caché
+    @Bean
+    public Queue auctionEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding auctionEventsBinding(Queue auctionEventsQueue, TopicExchange auctionEventsExchange) {
+        return BindingBuilder.bind(auctionEventsQueue).to(auctionEventsExchange).with("auction.#");
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
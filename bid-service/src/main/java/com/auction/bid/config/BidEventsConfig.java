@@ -0,0 +1,19 @@
+package com.auction.bid.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BidEventsConfig {
+
+    @Value("${rabbitmq.exchange.bid}")
+    private String bidExchange;
+
+    // Exchange durable donde BidOutboxRelay publica las pujas aceptadas
+    @Bean
+    public TopicExchange bidEventsExchange() {
+        return new TopicExchange(bidExchange, true, false);
+    }
+}
@@ -0,0 +1,45 @@
+package com.auction.bid.config;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.dto.UserDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    // Caché local de subastas: acotada por tamaño y TTL, invalidada por eventos de auction-service.
+    // Métricas en /actuator/metrics/cache.gets, cache.evictions y cache.size (tag cache=auctions)
+    @Bean
+    public Cache<Long, AuctionDto> auctionCache(MeterRegistry meterRegistry,
+                                                @Value("${bids.auction-cache.max-size:10000}") long maxSize,
+                                                @Value("${bids.auction-cache.ttl-seconds:30}") long ttlSeconds) {
+        Cache<Long, AuctionDto> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "auctions");
+    }
+
+    // Identidad de usuarios por email: saca a user-service del camino de cada puja.
+    // Se invalida con los eventos de user-service (cache=users)
+    @Bean
+    public Cache<String, UserDto> userCache(MeterRegistry meterRegistry,
+                                            @Value("${bids.user-cache.max-size:50000}") long maxSize,
+                                            @Value("${bids.user-cache.ttl-seconds:600}") long ttlSeconds) {
+        Cache<String, UserDto> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+}
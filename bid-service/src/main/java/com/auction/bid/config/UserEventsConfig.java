@@ -0,0 +1,33 @@
+package com.auction.bid.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UserEventsConfig {
+
+    @Value("${rabbitmq.exchange.user}")
+    private String userExchange;
+
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(userExchange, true, false);
+    }
+
+    // Cola exclusiva por instancia: cada instancia debe invalidar su propia caché
+    @Bean
+    public Queue userEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userEventsBinding(Queue userEventsQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userEventsQueue).to(userEventsExchange).with("user.#");
+    }
+}
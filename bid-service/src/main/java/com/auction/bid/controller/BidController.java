@@ -4,8 +4,10 @@ import com.auction.bid.dto.BidRequest;
 import com.auction.bid.exception.BusinessRuleException;
 import com.auction.bid.exception.ResourceNotFoundException;
 import com.auction.bid.model.Bid;
+import com.auction.bid.service.BidSequencer;
 import com.auction.bid.service.BidService;
 import com.auction.bid.security.JwtUtils;
+import com.auction.security.InternalClaimsVerifier;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,27 +21,28 @@ import java.util.Map;
 public class BidController {
     private final BidService bidService;
     private final JwtUtils jwtUtils;
+    private final InternalClaimsVerifier internalClaimsVerifier;
 
     @Autowired
-    public BidController(BidService bidService, JwtUtils jwtUtils) {
+    public BidController(BidService bidService, JwtUtils jwtUtils, InternalClaimsVerifier internalClaimsVerifier) {
         this.bidService = bidService;
         this.jwtUtils = jwtUtils;
+        this.internalClaimsVerifier = internalClaimsVerifier;
     }
 
     @PostMapping("/{id}/pujas")
     public ResponseEntity<?> createBid(@PathVariable Long id, @RequestBody BidRequest bidRequest, HttpServletRequest request) {
         try {
-            // 🔄 NUEVO: Usar las cabeceras del API Gateway
-            String username = request.getHeader("X-User-Id");
-            String userRole = request.getHeader("X-User-Role");
-
-            if (username == null || userRole == null) {
+            // Identidad solo desde los claims firmados por el API Gateway (X-User-Id no está firmado)
+            InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+            if (claims == null || claims.getUsername() == null || claims.getRole() == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "UNAUTHORIZED", "message", "Usuario no autenticado"));
             }
+            String username = claims.getUsername();
 
-            System.out.println("🔍 [BID-SERVICE] Username from header: " + username);
-            System.out.println("🔍 [BID-SERVICE] Role from header: " + userRole);
+            System.out.println("🔍 [BID-SERVICE] Username from signed claims: " + username);
+            System.out.println("🔍 [BID-SERVICE] Role from signed claims: " + claims.getRole());
 
             // ✅ Usar método con validaciones completas
             Bid bid = bidService.createBidWithValidation(bidRequest, id, username, request.getHeader("Authorization"));
@@ -60,6 +63,12 @@ public class BidController {
                     "error", "RESOURCE_NOT_FOUND",
                     "message", e.getMessage()
             ));
+        } catch (BidSequencer.StartedTaskTimeoutException e) {
+            // La puja pudo quedar aceptada: el cliente debe consultar antes de reintentar
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of(
+                    "error", "BID_OUTCOME_UNKNOWN",
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
                     "error", "INTERNAL_SERVER_ERROR",
@@ -1,41 +1,79 @@
 package com.auction.bid.controller;
 
+import com.auction.bid.dto.BidPageDto;
 import com.auction.bid.model.Bid;
 import com.auction.bid.service.BidService;
 import com.auction.bid.security.JwtUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/usuarios")
 public class UserBidController {
     private final BidService bidService;
     private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public UserBidController(BidService bidService, JwtUtils jwtUtils) {
+    public UserBidController(BidService bidService, JwtUtils jwtUtils, ObjectMapper objectMapper) {
         this.bidService = bidService;
         this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
     }
 
+    // Las pujas se escriben por bloques a medida que se leen: la memoria no crece con el total
     @GetMapping("/{userId}/pujas")
-    public ResponseEntity<List<Bid>> getAllBidsForUser(@PathVariable Long userId, HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> getAllBidsForUser(@PathVariable Long userId, HttpServletRequest request) {
+        if (!isAuthenticated(request)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.writeStartArray();
+            bidService.streamBidsForUser(userId, chunk -> {
+                try {
+                    for (Bid bid : chunk) {
+                        generator.writeObject(bid);
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/{userId}/pujas/page")
+    public ResponseEntity<BidPageDto> getBidsForUserPage(@PathVariable Long userId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         HttpServletRequest request) {
+        if (!isAuthenticated(request)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return new ResponseEntity<>(bidService.getBidsForUser(userId, cursor, limit), HttpStatus.OK);
+    }
+
+    private boolean isAuthenticated(HttpServletRequest request) {
         // Extraer JWT del header Authorization
         String headerAuth = request.getHeader("Authorization");
         String token = null;
         if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
             token = headerAuth.substring(7);
         }
-        if (token == null || !jwtUtils.validateJwtToken(token)) {
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
-        String username = jwtUtils.getUserNameFromJwtToken(token);
-
-        List<Bid> bids = bidService.getAllBidsForUserId(userId);
-        return new ResponseEntity<>(bids, HttpStatus.OK);
+        return token != null && jwtUtils.validateJwtToken(token);
     }
 }
@@ -0,0 +1,24 @@
+package com.auction.bid.dto;
+
+import com.auction.bid.model.Bid;
+
+import java.util.List;
+
+public class BidPageDto {
+    private List<Bid> bids;
+    private String nextCursor;
+
+    public BidPageDto() {}
+
+    public BidPageDto(List<Bid> bids, String nextCursor) {
+        this.bids = bids;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Bid> getBids() { return bids; }
+    public void setBids(List<Bid> bids) { this.bids = bids; }
+
+    // null cuando no hay más resultados
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
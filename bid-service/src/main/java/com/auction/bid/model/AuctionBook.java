@@ -0,0 +1,150 @@
+package com.auction.bid.model;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.exception.BusinessRuleException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * "Order book" en memoria de una subasta: guarda lo necesario para aceptar o
+ * rechazar una puja sin consultar a auction-service (puja más alta, incremento
+ * mínimo, fechas, dueño y estado).
+ * Solo se modifica desde el carril del BidSequencer que corresponde a la
+ * subasta; los campos son volátiles para que otros hilos puedan leerlos.
+ */
+public class AuctionBook {
+
+    // Evita recargar continuamente una subasta que realmente está cerrada
+    private static final long MIN_REFRESH_INTERVAL_MS = 1000;
+
+    private final Long auctionId;
+    private volatile String estado;
+    private volatile String ownerUsername;
+    private volatile BigDecimal precioBase;
+    private volatile BigDecimal incrementoMinimo = BigDecimal.ONE;
+    private volatile LocalDateTime fechaInicio;
+    private volatile LocalDateTime fechaFin;
+    private volatile Bid highestBid;
+    // true si la puja más alta la aceptó este libro (no viene de la carga inicial)
+    private volatile boolean highestAcceptedHere;
+    // Puja más alta anterior a la última aceptada, para poder retirar esta si no llega a persistirse
+    private volatile Bid previousHighestBid;
+    private volatile boolean previousAcceptedHere;
+    private volatile long refreshedAt;
+
+    public AuctionBook(Long auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    // Actualiza el estado de la subasta sin perder la puja más alta ya aceptada
+    public void applyAuctionState(AuctionDto auction) {
+        this.estado = auction.getEstado();
+        this.ownerUsername = auction.getOwnerUsername();
+        this.precioBase = auction.getPrecioActual() != null ?
+                auction.getPrecioActual() : auction.getStartingPrice();
+        this.incrementoMinimo = auction.getIncrementoMinimo() != null ?
+                auction.getIncrementoMinimo() : BigDecimal.ONE;
+        this.fechaInicio = auction.getFechaInicio();
+        this.fechaFin = auction.getFechaFin();
+        this.refreshedAt = System.currentTimeMillis();
+    }
+
+    // Registra una puja ya persistida (carga inicial desde la base de datos)
+    public void applyBid(Bid bid) {
+        if (bid != null && (highestBid == null || bid.getBidPrice().compareTo(highestBid.getBidPrice()) > 0)) {
+            highestBid = bid;
+            highestAcceptedHere = false;
+        }
+    }
+
+    public void validate(BigDecimal bidPrice, String username, LocalDateTime now) {
+        // 1. Verificar que la subasta está en estado activo
+        if (!"activa".equalsIgnoreCase(estado)) {
+            throw new BusinessRuleException("La subasta no está activa. Estado actual: " + estado);
+        }
+
+        // 2. Verificar que la puja es mayor al precio actual + incremento mínimo
+        BigDecimal precioActual = getCurrentPrice();
+        BigDecimal minimumBid = precioActual.add(incrementoMinimo);
+        if (bidPrice == null || bidPrice.compareTo(minimumBid) < 0) {
+            throw new BusinessRuleException(
+                    String.format("La puja debe ser al menos %s. Precio actual: %s, Incremento mínimo: %s",
+                            minimumBid, precioActual, incrementoMinimo)
+            );
+        }
+
+        // 3. Verificar que la subasta no ha terminado
+        if (fechaFin != null && fechaFin.isBefore(now)) {
+            throw new BusinessRuleException("La subasta ya ha terminado el " + fechaFin);
+        }
+
+        // 4. Verificar que la subasta ya ha comenzado
+        if (fechaInicio != null && fechaInicio.isAfter(now)) {
+            throw new BusinessRuleException("La subasta aún no ha comenzado. Inicia el " + fechaInicio);
+        }
+
+        // 5. El dueño de la subasta no puede pujar en su propia subasta
+        if (ownerUsername != null && ownerUsername.equals(username)) {
+            throw new BusinessRuleException("El usuario no puede pujar en esta subasta");
+        }
+    }
+
+    // Valida y, si procede, convierte la puja en la nueva puja más alta
+    public Bid accept(Bid bid, LocalDateTime now) {
+        validate(bid.getBidPrice(), bid.getUsername(), now);
+        previousHighestBid = highestBid;
+        previousAcceptedHere = highestAcceptedHere;
+        highestBid = bid;
+        highestAcceptedHere = true;
+        return bid;
+    }
+
+    // Retira una puja aceptada que no se persistirá. Si ya la superó otra no hay nada que hacer;
+    // si es la más alta, vuelve la anterior (sin recargar de la base de datos, donde puede faltar
+    // alguna puja anterior aún pendiente de escribir)
+    public void withdraw(Bid bid) {
+        if (highestBid == bid) {
+            highestBid = previousHighestBid;
+            highestAcceptedHere = previousAcceptedHere;
+            previousHighestBid = null;
+            previousAcceptedHere = false;
+        }
+    }
+
+    public boolean isOpen(LocalDateTime now) {
+        return "activa".equalsIgnoreCase(estado)
+                && (fechaFin == null || !fechaFin.isBefore(now))
+                && (fechaInicio == null || !fechaInicio.isAfter(now));
+    }
+
+    // Indica si conviene volver a consultar el estado a auction-service
+    public boolean needsRefresh(LocalDateTime now, long maxAgeMs) {
+        long age = System.currentTimeMillis() - refreshedAt;
+        if (estado == null || age > maxAgeMs) {
+            return true;
+        }
+        // Un inicio o una extensión pudo ocurrir desde la última carga
+        return !isOpen(now) && age > MIN_REFRESH_INTERVAL_MS;
+    }
+
+    public BigDecimal getCurrentPrice() {
+        if (highestBid != null) {
+            return highestBid.getBidPrice();
+        }
+        return precioBase != null ? precioBase : BigDecimal.ZERO;
+    }
+
+    public Long getAuctionId() { return auctionId; }
+    public String getEstado() { return estado; }
+    public String getOwnerUsername() { return ownerUsername; }
+    public BigDecimal getIncrementoMinimo() { return incrementoMinimo; }
+    public LocalDateTime getFechaFin() { return fechaFin; }
+    public Bid getHighestBid() { return highestBid; }
+
+    // Puja más alta solo si la aceptó este libro y ya está persistida (tiene bidId); si no, null
+    public Bid getPersistedLocalHighestBid() {
+        Bid bid = highestBid;
+        return highestAcceptedHere && bid != null && bid.getBidId() != null ? bid : null;
+    }
+}
@@ -2,9 +2,15 @@ package com.auction.bid.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", indexes = {
+        // Top-of-book: puja más alta por subasta sin recorrer todas sus pujas
+        @Index(name = "idx_bids_auction_price", columnList = "auction_id, bid_price DESC"),
+        // Paginación por cursor de las pujas de un usuario
+        @Index(name = "idx_bids_user", columnList = "user_id, bid_id")
+})
 public class Bid {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,6 +20,7 @@ public class Bid {
     private Long userId;
     private String username;
     private BigDecimal bidPrice;
+    private LocalDateTime createdAt;
 
     // Getters y setters
     public Long getBidId() { return bidId; }
@@ -26,4 +33,6 @@ public class Bid {
     public void setUsername(String username) { this.username = username; }
     public BigDecimal getBidPrice() { return bidPrice; }
     public void setBidPrice(BigDecimal bidPrice) { this.bidPrice = bidPrice; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
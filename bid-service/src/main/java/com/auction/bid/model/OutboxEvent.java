@@ -0,0 +1,15 @@
+package com.auction.bid.model;
+
+import com.auction.outbox.OutboxEventBase;
+import jakarta.persistence.*;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ. Se escribe en la misma transacción
+ * que las pujas y lo publica BidOutboxRelay (al menos una vez, en orden de id).
+ */
+@Entity
+@Table(name = "bid_outbox", indexes = {
+        @Index(name = "idx_bid_outbox_pending", columnList = "published_at, id")
+})
+public class OutboxEvent extends OutboxEventBase {
+}
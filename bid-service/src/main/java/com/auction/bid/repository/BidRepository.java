@@ -1,12 +1,19 @@
 package com.auction.bid.repository;
 
 import com.auction.bid.model.Bid;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Long> {
     List<Bid> findByAuctionId(Long auctionId);
+
+    Optional<Bid> findTopByAuctionIdOrderByBidPriceDesc(Long auctionId);
+
+    // Keyset: siguiente página de pujas del usuario a partir del último bidId visto
+    List<Bid> findByUserIdAndBidIdGreaterThanOrderByBidIdAsc(Long userId, Long bidId, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.auction.bid.repository;
+
+import com.auction.bid.model.OutboxEvent;
+import com.auction.outbox.OutboxRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends OutboxRepository<OutboxEvent> {
+}
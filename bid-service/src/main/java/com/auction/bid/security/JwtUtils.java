@@ -1,54 +1,31 @@
 package com.auction.bid.security;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.auction.security.JwtTokenParser;
+import com.auction.security.TokenClaims;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
+/**
+ * Acceso a los claims del JWT a través del parser compartido: dentro de una
+ * petición el token se verifica una sola vez, aunque filtros y controladores
+ * llamen a varios de estos métodos.
+ */
 @Component
 public class JwtUtils {
-    @Value("${auth.jwtSecret}")
-    private String jwtSecret;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
+    @Autowired
+    private JwtTokenParser jwtTokenParser;
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+        return jwtTokenParser.parseForRequest(token).getUsername();
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (Exception e) {
-            // log error if needed
-        }
-        return false;
+        return jwtTokenParser.tryParseForRequest(authToken) != null;
     }
 
     // Método para extraer rol del token
     public String getRoleFromJwtToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("role", String.class);
-        } catch (Exception e) {
-            return null;
-        }
+        TokenClaims claims = jwtTokenParser.tryParseForRequest(token);
+        return claims != null ? claims.getRole() : null;
     }
 }
@@ -0,0 +1,48 @@
+package com.auction.bid.service;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.dto.AuctionEventDto;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene la caché de subastas y los order books al día con los eventos
+ * de auction-service (inicio, fin, extensión, actualización, borrado).
+ */
+@Component
+public class AuctionEventListener {
+
+    private final BidValidationService bidValidationService;
+    private final OrderBookService orderBookService;
+
+    public AuctionEventListener(BidValidationService bidValidationService, OrderBookService orderBookService) {
+        this.bidValidationService = bidValidationService;
+        this.orderBookService = orderBookService;
+    }
+
+    @RabbitListener(queues = "#{auctionEventsQueue.name}")
+    public void onAuctionEvent(AuctionEventDto event) {
+        bidValidationService.invalidate(event.getAuctionId());
+
+        if ("deleted".equals(event.getEventType())) {
+            orderBookService.evict(event.getAuctionId());
+        } else {
+            orderBookService.applyAuctionState(toAuctionDto(event));
+        }
+    }
+
+    private AuctionDto toAuctionDto(AuctionEventDto event) {
+        AuctionDto auction = new AuctionDto();
+        auction.setAuctionId(event.getAuctionId());
+        auction.setDescription(event.getDescription());
+        auction.setItemCategory(event.getItemCategory());
+        auction.setOwnerUsername(event.getOwnerUsername());
+        auction.setEstado(event.getEstado());
+        auction.setStartingPrice(event.getStartingPrice());
+        auction.setPrecioActual(event.getPrecioActual());
+        auction.setIncrementoMinimo(event.getIncrementoMinimo());
+        auction.setFechaInicio(event.getFechaInicio());
+        auction.setFechaFin(event.getFechaFin());
+        return auction;
+    }
+}
@@ -0,0 +1,61 @@
+package com.auction.bid.service;
+
+import com.auction.bid.dto.NewBidEventDto;
+import com.auction.bid.model.Bid;
+import com.auction.bid.model.OutboxEvent;
+import com.auction.bid.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class BidEventOutbox {
+
+    public static final String BID_PLACED = "bid.placed";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public BidEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Debe llamarse dentro de la transacción que guarda las pujas
+    public void recordBidsPlaced(List<Bid> bids) {
+        List<OutboxEvent> events = new ArrayList<>(bids.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Bid bid : bids) {
+            NewBidEventDto eventDto = new NewBidEventDto(
+                    bid.getAuctionId().toString(),
+                    bid.getBidPrice(),
+                    bid.getUsername()
+            );
+            eventDto.setBidId(bid.getBidId());
+            eventDto.setUserId(bid.getUserId());
+            if (bid.getCreatedAt() != null) {
+                eventDto.setTimestamp(bid.getCreatedAt());
+            }
+
+            OutboxEvent event = new OutboxEvent();
+            event.setAggregateId(bid.getAuctionId());
+            event.setEventType(BID_PLACED);
+            event.setPayload(toJson(eventDto));
+            event.setCreatedAt(now);
+            events.add(event);
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String toJson(NewBidEventDto eventDto) {
+        try {
+            return objectMapper.writeValueAsString(eventDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing bid event", e);
+        }
+    }
+}
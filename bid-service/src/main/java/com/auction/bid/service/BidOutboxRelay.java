@@ -0,0 +1,42 @@
+package com.auction.bid.service;
+
+import com.auction.bid.model.OutboxEvent;
+import com.auction.bid.repository.OutboxEventRepository;
+import com.auction.outbox.OutboxRelay;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publica el outbox de bid-service con el relay compartido (outbox-common):
+ * por lotes, con publisher confirms y al menos una vez, en orden de id.
+ */
+@Component
+public class BidOutboxRelay {
+
+    private final OutboxRelay<OutboxEvent> relay;
+
+    @Value("${bids.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public BidOutboxRelay(OutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                          @Value("${rabbitmq.exchange.bid}") String bidExchange,
+                          @Value("${bids.outbox.batch-size:200}") int batchSize,
+                          @Value("${bids.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.relay = new OutboxRelay<>(outboxEventRepository, rabbitTemplate, bidExchange, "bid",
+                batchSize, confirmTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${bids.outbox.relay-ms:100}")
+    public void relay() {
+        relay.relay();
+    }
+
+    @Scheduled(fixedDelayString = "${bids.outbox.purge-ms:3600000}")
+    public void purgePublished() {
+        relay.purgePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
@@ -0,0 +1,119 @@
+package com.auction.bid.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Secuenciador de escritor único: todas las operaciones sobre una misma
+ * subasta se ejecutan en el mismo carril (un hilo), en orden de llegada.
+ * Subastas distintas se reparten entre carriles y escalan con los núcleos.
+ * La espera de una tarea está acotada dos veces por timeout-ms: hasta que
+ * empieza (si no empezó, se abandona) y, si ya empezó, hasta que termina.
+ */
+@Component
+public class BidSequencer {
+
+    private final ExecutorService[] lanes;
+    private final long timeoutMs;
+
+    public BidSequencer(@Value("${bids.sequencer.lanes:0}") int lanes,
+                        @Value("${bids.sequencer.timeout-ms:5000}") long timeoutMs) {
+        int size = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            String name = "bid-sequencer-" + i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <T> T execute(Long auctionId, Callable<T> task) {
+        // Quien gane este flag decide: la tarea se ejecuta o el llamante la abandona por timeout
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future = lane(auctionId).submit(() -> claimed.compareAndSet(false, true) ? task.call() : null);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Propagar tal cual las excepciones de negocio lanzadas por la tarea
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error en el secuenciador de pujas", e.getCause());
+        } catch (TimeoutException e) {
+            // Solo se puede abandonar una tarea que aún no empezó (cancel no detiene una que ya corre);
+            // si ya corre, su efecto (p. ej. una puja aceptada) ocurrirá igualmente y se espera su resultado
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                throw new IllegalStateException("Tiempo de espera agotado en el secuenciador para la subasta " + auctionId, e);
+            }
+            return awaitStarted(auctionId, future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Secuenciador de pujas interrumpido", e);
+        }
+    }
+
+    // Segundo plazo para una tarea que ya empezó: si tampoco termina, su resultado es desconocido
+    private <T> T awaitStarted(Long auctionId, Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new StartedTaskTimeoutException(auctionId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error en el secuenciador de pujas", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Secuenciador de pujas interrumpido", e);
+        }
+    }
+
+    public void run(Long auctionId, Runnable task) {
+        execute(auctionId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    private ExecutorService lane(Long auctionId) {
+        return lanes[Math.floorMod(Long.hashCode(auctionId), lanes.length)];
+    }
+
+    /**
+     * La tarea empezó pero no terminó en el segundo plazo: puede completarse
+     * después (p. ej. la puja puede quedar aceptada), así que no equivale a un rechazo.
+     */
+    public static class StartedTaskTimeoutException extends IllegalStateException {
+        public StartedTaskTimeoutException(Long auctionId, Throwable cause) {
+            super("La tarea del secuenciador para la subasta " + auctionId
+                    + " empezó pero no terminó a tiempo; su resultado es desconocido", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
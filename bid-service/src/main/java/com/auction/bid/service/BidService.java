@@ -1,8 +1,10 @@
 package com.auction.bid.service;
 
+import com.auction.bid.dto.BidPageDto;
 import com.auction.bid.dto.BidRequest;
 import com.auction.bid.model.Bid;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BidService {
     // Métodos existentes
@@ -19,4 +21,8 @@ public interface BidService {
     Bid createBidWithValidation(BidRequest bidRequest, Long auctionId, String username, String token);
     void validateBidRules(BidRequest bidRequest, Long auctionId, String token);
     boolean canUserBid(Long auctionId, String username, String token);
+
+    // Pujas de un usuario paginadas por cursor
+    BidPageDto getBidsForUser(Long userId, String cursor, int limit);
+    void streamBidsForUser(Long userId, Consumer<List<Bid>> chunkConsumer);
 }
\ No newline at end of file
@@ -1,28 +1,34 @@
 package com.auction.bid.service;
 
 import com.auction.bid.client.AuctionServiceClient;
-import com.auction.bid.client.NotificationServiceClient;
 import com.auction.bid.client.UserServiceClient;
-import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.dto.BidPageDto;
 import com.auction.bid.dto.BidRequest;
-import com.auction.bid.dto.NewBidEventDto;
 import com.auction.bid.dto.UserDto;
 import com.auction.bid.exception.BusinessRuleException;
 import com.auction.bid.exception.ResourceNotFoundException;
+import com.auction.bid.model.AuctionBook;
 import com.auction.bid.model.Bid;
 import com.auction.bid.repository.BidRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class BidServiceImpl implements BidService {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final BidRepository bidRepository;
 
     @Autowired
@@ -31,15 +37,21 @@ public class BidServiceImpl implements BidService {
     @Autowired
     private UserServiceClient userServiceClient;
 
-    @Autowired
-    private NotificationServiceClient notificationServiceClient;
-
     @Autowired
     private ObjectMapper objectMapper;
 
     @Autowired
     private BidValidationService bidValidationService;
 
+    @Autowired
+    private OrderBookService orderBookService;
+
+    @Autowired
+    private BidWriteBehindService bidWriteBehindService;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     public BidServiceImpl(BidRepository bidRepository) {
         this.bidRepository = bidRepository;
     }
@@ -47,66 +59,66 @@ public class BidServiceImpl implements BidService {
     @Override
     public Bid createBidWithValidation(BidRequest bidRequest, Long auctionId, String username, String token) {
         try {
-            // 1. Ejecutar todas las validaciones de negocio
-            bidValidationService.validateBid(bidRequest, auctionId, token);
+            // 1. Rechazo rápido contra el order book en memoria (sin llamadas remotas)
+            orderBookService.validate(auctionId, bidRequest.getBidPrice(), username, token);
 
-            // 2. Verificar que el usuario puede pujar
-            if (!canUserBid(auctionId, username, token)) {
-                throw new BusinessRuleException("El usuario no puede pujar en esta subasta");
-            }
-
-            // 3. Obtener información del usuario
-            UserDto user = userServiceClient.getUserByEmail(username, token);
+            // 2. Obtener información del usuario
+            UserDto user = userIdentityService.getUserByEmail(username, token);
             Long userId = user.getId();
 
-            // 4. Crear la puja
-            Bid savedBid = createBid(bidRequest, auctionId, userId, username);
-
-            // 5. Actualizar precio actual en auction-service (si es necesario)
-            // Esto podría requerir un endpoint adicional en auction-service
-
-            // 6. Notificar al servicio de notificaciones WebSocket
+            // 3. Aceptar la puja en el order book y esperar a que su lote esté confirmado.
+            //    El evento de nueva puja se publica desde el outbox (BidOutboxRelay)
+            Bid bid = new Bid();
+            bid.setAuctionId(auctionId);
+            bid.setUserId(userId);
+            bid.setUsername(username);
+            bid.setBidPrice(bidRequest.getBidPrice());
+            bid.setCreatedAt(LocalDateTime.now());
+            BidWriteBehindService.PendingBid persisted = orderBookService.accept(bid, token);
             try {
-                NewBidEventDto eventDto = new NewBidEventDto(
-                        auctionId.toString(),
-                        savedBid.getBidPrice(),
-                        savedBid.getUsername()
-                );
-                notificationServiceClient.broadcastNewBid(eventDto, token);
-            } catch (Exception e) {
-                // Log pero no fallar - la puja ya se guardó
-                System.err.println("Error notifying new bid: " + e.getMessage());
+                return bidWriteBehindService.await(persisted);
+            } catch (RuntimeException e) {
+                // await solo falla si la puja no se persistirá: el libro ya contaba con ella y se retira
+                withdrawQuietly(bid);
+                throw e;
             }
 
-            return savedBid;
-
-        } catch (BusinessRuleException | ResourceNotFoundException e) {
-            // Re-lanzar excepciones de negocio
+        } catch (BusinessRuleException | ResourceNotFoundException | BidSequencer.StartedTaskTimeoutException e) {
+            // Re-lanzar excepciones de negocio y el resultado desconocido del secuenciador
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error al procesar la puja: " + e.getMessage(), e);
         }
     }
 
+    private void withdrawQuietly(Bid bid) {
+        try {
+            orderBookService.withdraw(bid);
+        } catch (RuntimeException e) {
+            // Sin retirarla, el libro solo exige más de lo necesario: nunca acepta una puja menor
+            System.err.println("Could not withdraw bid from order book of auction " + bid.getAuctionId() + ": " + e.getMessage());
+        }
+    }
+
     //Validar reglas de negocio
     @Override
     public void validateBidRules(BidRequest bidRequest, Long auctionId, String token) {
-        bidValidationService.validateBid(bidRequest, auctionId, token);
+        orderBookService.validate(auctionId, bidRequest.getBidPrice(), null, token);
     }
 
     //Verificar si un usuario puede pujar
     @Override
     public boolean canUserBid(Long auctionId, String username, String token) {
         try {
-            AuctionDto auction = bidValidationService.getAuctionInfo(auctionId, token);
+            AuctionBook book = orderBookService.getBook(auctionId, token);
 
             // El dueño de la subasta no puede pujar en su propia subasta
-            if (auction.getOwnerUsername() != null && auction.getOwnerUsername().equals(username)) {
+            if (book.getOwnerUsername() != null && book.getOwnerUsername().equals(username)) {
                 return false;
             }
 
             // Verificar que la subasta esté activa
-            return bidValidationService.isAuctionActive(auctionId, token);
+            return book.isOpen(LocalDateTime.now());
 
         } catch (Exception e) {
             return false;
@@ -135,6 +147,8 @@ public class BidServiceImpl implements BidService {
         bidRepository.findById(bidId).ifPresent(bid -> {
             if (bid.getAuctionId().equals(auctionId) && bid.getUserId().equals(userId)) {
                 bidRepository.deleteById(bidId);
+                // La puja más alta del libro pudo ser la eliminada
+                orderBookService.evict(auctionId);
             }
         });
     }
@@ -153,30 +167,55 @@ public class BidServiceImpl implements BidService {
     //Obtener la puja más alta de una subasta
     @Override
     public Bid getHighestBidForAuction(Long auctionId) {
-        List<Bid> bids = bidRepository.findByAuctionId(auctionId);
-        if (bids.isEmpty()) {
-            return null; // No hay pujas para esta subasta
-        }
-        Bid highestBid = bids.get(0);
-        for (Bid bid : bids) {
-            if (bid.getBidPrice().compareTo(highestBid.getBidPrice())>0) {
-                highestBid = bid;
-            }
-        }
-        return highestBid;
+        return orderBookService.getHighestBid(auctionId);
     }
 
     // Obtener pujas de un usuario específico
     @Override
     public List<Bid> getAllBidsForUserId(Long userId) {
-        List<Bid> allBids = bidRepository.findAll();
         List<Bid> userBids = new ArrayList<>();
-        for (Bid bid : allBids) {
-            if (bid.getUserId().equals(userId)) {
-                userBids.add(bid);
+        streamBidsForUser(userId, userBids::addAll);
+        return userBids;
+    }
+
+    @Override
+    public BidPageDto getBidsForUser(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Bid> bids = bidRepository.findByUserIdAndBidIdGreaterThanOrderByBidIdAsc(
+                userId, decodeCursor(cursor), PageRequest.of(0, pageSize));
+        String nextCursor = bids.size() == pageSize ? encodeCursor(bids.get(bids.size() - 1).getBidId()) : null;
+        return new BidPageDto(bids, nextCursor);
+    }
+
+    // Recorre todas las pujas del usuario por páginas: la memoria no depende del total
+    @Override
+    public void streamBidsForUser(Long userId, Consumer<List<Bid>> chunkConsumer) {
+        Long lastBidId = 0L;
+        List<Bid> chunk;
+        do {
+            chunk = bidRepository.findByUserIdAndBidIdGreaterThanOrderByBidIdAsc(
+                    userId, lastBidId, PageRequest.of(0, MAX_PAGE_SIZE));
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+                lastBidId = chunk.get(chunk.size() - 1).getBidId();
             }
+        } while (chunk.size() == MAX_PAGE_SIZE);
+    }
+
+    private String encodeCursor(Long bidId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(bidId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Cursor de paginación inválido", e);
         }
-        return userBids;
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.auction.bid.dto.AuctionDto;
 import com.auction.bid.dto.BidRequest;
 import com.auction.bid.exception.BusinessRuleException;
 import com.auction.bid.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,9 +18,12 @@ public class BidValidationService {
     @Autowired
     private AuctionServiceClient auctionServiceClient;
 
+    @Autowired
+    private Cache<Long, AuctionDto> auctionCache;
+
     public void validateBid(BidRequest bidRequest, Long auctionId, String token) {
         // 1. Verificar que la subasta existe y está activa
-        AuctionDto auction = auctionServiceClient.getAuctionById(auctionId, token);
+        AuctionDto auction = getCachedAuction(auctionId, token);
         if (auction == null) {
             throw new ResourceNotFoundException("Subasta no encontrada con ID: " + auctionId);
         }
@@ -56,12 +60,17 @@ public class BidValidationService {
 
     public AuctionDto getAuctionInfo(Long auctionId, String token) {
         try {
-            return auctionServiceClient.getAuctionById(auctionId, token);
+            return getCachedAuction(auctionId, token);
         } catch (Exception e) {
             throw new ResourceNotFoundException("No se pudo obtener información de la subasta: " + e.getMessage());
         }
     }
 
+    // Descarta la subasta de la caché (evento de cambio de estado en auction-service)
+    public void invalidate(Long auctionId) {
+        auctionCache.invalidate(auctionId);
+    }
+
     public boolean isAuctionActive(Long auctionId, String token) {
         try {
             Boolean isActive = auctionServiceClient.isAuctionActive(auctionId, token);
@@ -70,4 +79,9 @@ public class BidValidationService {
             return false; // Si hay error en la comunicación, asumir que no está activa
         }
     }
-}
\ No newline at end of file
+
+    // Una subasta inexistente (null) no se guarda en caché
+    private AuctionDto getCachedAuction(Long auctionId, String token) {
+        return auctionCache.get(auctionId, id -> auctionServiceClient.getAuctionById(id, token));
+    }
+}
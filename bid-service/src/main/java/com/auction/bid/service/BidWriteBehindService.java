@@ -0,0 +1,241 @@
+package com.auction.bid.service;
+
+import com.auction.bid.model.Bid;
+import com.auction.bid.repository.BidRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistencia de las pujas aceptadas por el order book con commit agrupado:
+ * un único hilo guarda por lotes, en una sola transacción, las pujas pendientes
+ * junto con sus eventos en el outbox. Quien envía la puja espera a que su lote
+ * esté confirmado, de modo que nunca se responde una puja que no esté en la base
+ * de datos (y la puja devuelta ya tiene bidId).
+ * Un lote que falla se reintenta antes que cualquier puja posterior; tras
+ * max-attempts intentos se guarda puja a puja y las que siguen fallando se
+ * descartan (dead-letter) y se rechazan a su cliente.
+ * Si la espera se agota antes de que el escritor tome la puja, se abandona
+ * y el escritor la salta; si ya la tomó, se espera su resultado final. Así
+ * nunca se rechaza al cliente una puja que luego aparece persistida.
+ */
+@Service
+public class BidWriteBehindService {
+
+    private final BlockingQueue<PendingBid> pending = new LinkedBlockingQueue<>();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final BidRepository bidRepository;
+    private final BidEventOutbox bidEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    @Value("${bids.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bids.write-behind.flush-ms:100}")
+    private long flushMs;
+
+    @Value("${bids.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${bids.write-behind.commit-timeout-ms:5000}")
+    private long commitTimeoutMs;
+
+    // Acota cada intento de guardado: el resultado final de una puja tomada llega en un tiempo finito
+    @Value("${bids.write-behind.transaction-timeout-s:10}")
+    private int transactionTimeoutS;
+
+    public BidWriteBehindService(BidRepository bidRepository, BidEventOutbox bidEventOutbox,
+                                 PlatformTransactionManager transactionManager) {
+        this.bidRepository = bidRepository;
+        this.bidEventOutbox = bidEventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate.setTimeout(transactionTimeoutS);
+        writer = new Thread(this::writeLoop, "bid-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Encola la puja; el futuro se completa cuando su lote está confirmado
+    public PendingBid submit(Bid bid) {
+        PendingBid pendingBid = new PendingBid(bid);
+        if (!running) {
+            pendingBid.completeExceptionally(new IllegalStateException("El servicio de pujas se está deteniendo"));
+            return pendingBid;
+        }
+        pending.offer(pendingBid);
+        return pendingBid;
+    }
+
+    // Devuelve la puja persistida con su bidId. Solo lanza excepción si la puja no se ha
+    // persistido ni se persistirá (dead-letter, parada o abandonada antes de que la tome el escritor)
+    public Bid await(PendingBid pendingBid) {
+        try {
+            return pendingBid.get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pendingBid.abandon()) {
+                abandoned.incrementAndGet();
+                throw new IllegalStateException("Tiempo de espera agotado: la puja no se llegó a persistir", e);
+            }
+            // El escritor ya la tomó: su resultado final llega tras reintentos finitos con transacciones acotadas
+            return awaitOutcome(pendingBid);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return awaitOutcome(pendingBid);
+        }
+    }
+
+    private Bid awaitOutcome(PendingBid pendingBid) {
+        try {
+            return pendingBid.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error al persistir la puja", e.getCause());
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Error al persistir la puja", e.getCause());
+    }
+
+    private void writeLoop() {
+        List<PendingBid> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingBid first = pending.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                // Las pujas abandonadas por timeout se saltan: su cliente ya recibió el rechazo
+                batch.removeIf(pendingBid -> !pendingBid.claim());
+                if (!batch.isEmpty()) {
+                    persist(batch);
+                }
+            } catch (InterruptedException e) {
+                // Parada: se sale del bucle cuando la cola queda vacía
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // El lote en curso se reintenta en cabeza: ninguna puja posterior se guarda antes que él
+    private void persist(List<PendingBid> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                save(batch);
+                return;
+            } catch (Exception e) {
+                System.err.println("Error persisting bid batch (" + batch.size() + "), attempt "
+                        + attempt + "/" + maxAttempts + ": " + e.getMessage());
+                batch.forEach(pendingBid -> pendingBid.bid.setBidId(null));
+                if (attempt < maxAttempts) {
+                    Thread.sleep(flushMs * attempt);
+                }
+            }
+        }
+        // Lote envenenado: aislar las pujas que fallan por sí solas
+        for (PendingBid pendingBid : batch) {
+            try {
+                save(List.of(pendingBid));
+            } catch (Exception e) {
+                pendingBid.bid.setBidId(null);
+                deadLettered.incrementAndGet();
+                System.err.println("Dead-lettering bid for auction " + pendingBid.bid.getAuctionId()
+                        + " by " + pendingBid.bid.getUsername() + " (" + pendingBid.bid.getBidPrice() + "): "
+                        + e.getMessage());
+                pendingBid.completeExceptionally(new IllegalStateException("No se pudo persistir la puja", e));
+            }
+        }
+    }
+
+    private void save(List<PendingBid> batch) {
+        List<Bid> bids = batch.stream().map(pendingBid -> pendingBid.bid).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            bidRepository.saveAll(bids);
+            bidEventOutbox.recordBidsPlaced(bids);
+        });
+        batch.forEach(pendingBid -> pendingBid.complete(pendingBid.bid));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getDeadLetterCount() {
+        return deadLettered.get();
+    }
+
+    public long getAbandonedCount() {
+        return abandoned.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(commitTimeoutMs);
+        }
+    }
+
+    // Futuro de una puja encolada; quien gane el estado (escritor o llamante por timeout) decide su destino
+    public static final class PendingBid extends CompletableFuture<Bid> {
+        private static final int PENDING = 0;
+        private static final int CLAIMED = 1;
+        private static final int ABANDONED = 2;
+
+        private final Bid bid;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private PendingBid(Bid bid) {
+            this.bid = bid;
+        }
+
+        public Bid getBid() {
+            return bid;
+        }
+
+        private boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED);
+        }
+
+        private boolean abandon() {
+            if (!state.compareAndSet(PENDING, ABANDONED)) {
+                return false;
+            }
+            completeExceptionally(new IllegalStateException("Puja abandonada antes de persistirse"));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.auction.bid.service;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.exception.ResourceNotFoundException;
+import com.auction.bid.model.AuctionBook;
+import com.auction.bid.model.Bid;
+import com.auction.bid.repository.BidRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene un AuctionBook por subasta para aceptar pujas en memoria.
+ * auction-service solo se consulta al cargar el libro o cuando su estado
+ * puede haber cambiado (subasta no abierta o libro caducado).
+ * Toda modificación de un libro pasa por el BidSequencer, de modo que la
+ * comprobación del precio, la aceptación de la puja y su encolado para
+ * persistir no pueden intercalarse.
+ */
+@Service
+public class OrderBookService {
+
+    private final Map<Long, AuctionBook> books = new ConcurrentHashMap<>();
+    private final BidValidationService bidValidationService;
+    private final BidRepository bidRepository;
+    private final BidSequencer bidSequencer;
+    private final BidWriteBehindService bidWriteBehindService;
+
+    @Value("${bids.order-book.refresh-ms:30000}")
+    private long refreshMs;
+
+    public OrderBookService(BidValidationService bidValidationService, BidRepository bidRepository,
+                            BidSequencer bidSequencer, BidWriteBehindService bidWriteBehindService) {
+        this.bidValidationService = bidValidationService;
+        this.bidRepository = bidRepository;
+        this.bidSequencer = bidSequencer;
+        this.bidWriteBehindService = bidWriteBehindService;
+    }
+
+    public AuctionBook getBook(Long auctionId, String token) {
+        AuctionBook book = loadBook(auctionId);
+        if (book.needsRefresh(LocalDateTime.now(), refreshMs)) {
+            refresh(book, token);
+        }
+        return book;
+    }
+
+    public void validate(Long auctionId, BigDecimal bidPrice, String username, String token) {
+        getBook(auctionId, token).validate(bidPrice, username, LocalDateTime.now());
+    }
+
+    // Acepta y encola en el carril de la subasta: las pujas se persisten en el orden en que se aceptan.
+    // El futuro se completa cuando la puja está confirmada en la base de datos
+    public BidWriteBehindService.PendingBid accept(Bid bid, String token) {
+        AuctionBook book = getBook(bid.getAuctionId(), token);
+        return bidSequencer.execute(bid.getAuctionId(),
+                () -> bidWriteBehindService.submit(book.accept(bid, LocalDateTime.now())));
+    }
+
+    // Puja más alta en O(1) si la aceptó y persistió este libro; si no (libro ausente, puja aún
+    // sin persistir o cargada de la base de datos), consulta indexada del top-of-book
+    public Bid getHighestBid(Long auctionId) {
+        AuctionBook book = books.get(auctionId);
+        Bid local = book != null ? book.getPersistedLocalHighestBid() : null;
+        if (local != null) {
+            return local;
+        }
+        return bidRepository.findTopByAuctionIdOrderByBidPriceDesc(auctionId).orElse(null);
+    }
+
+    // Aplica un cambio de estado conocido (evento de auction-service) si el libro ya existe
+    public void applyAuctionState(AuctionDto auction) {
+        AuctionBook book = books.get(auction.getAuctionId());
+        if (book != null) {
+            bidSequencer.run(auction.getAuctionId(), () -> book.applyAuctionState(auction));
+        }
+    }
+
+    // La puja aceptada no se persistirá: se retira del libro en el carril de la subasta, en orden con las demás.
+    // No se desaloja el libro: recargarlo de la base de datos perdería las pujas posteriores aún pendientes
+    public void withdraw(Bid bid) {
+        AuctionBook book = books.get(bid.getAuctionId());
+        if (book != null) {
+            bidSequencer.run(bid.getAuctionId(), () -> book.withdraw(bid));
+        }
+    }
+
+    public void evict(Long auctionId) {
+        books.remove(auctionId);
+    }
+
+    // Crea el libro una sola vez, partiendo de la puja más alta ya persistida
+    private AuctionBook loadBook(Long auctionId) {
+        AuctionBook book = books.get(auctionId);
+        if (book == null) {
+            AuctionBook loaded = new AuctionBook(auctionId);
+            bidRepository.findTopByAuctionIdOrderByBidPriceDesc(auctionId).ifPresent(loaded::applyBid);
+            AuctionBook existing = books.putIfAbsent(auctionId, loaded);
+            book = existing != null ? existing : loaded;
+        }
+        return book;
+    }
+
+    private void refresh(AuctionBook book, String token) {
+        AuctionDto auction = bidValidationService.getAuctionInfo(book.getAuctionId(), token);
+        if (auction == null) {
+            books.remove(book.getAuctionId());
+            throw new ResourceNotFoundException("Subasta no encontrada con ID: " + book.getAuctionId());
+        }
+        bidSequencer.run(book.getAuctionId(), () -> book.applyAuctionState(auction));
+    }
+}
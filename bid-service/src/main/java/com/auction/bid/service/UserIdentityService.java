@@ -0,0 +1,33 @@
+package com.auction.bid.service;
+
+import com.auction.bid.client.UserServiceClient;
+import com.auction.bid.dto.UserDto;
+import com.auction.bid.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserIdentityService {
+
+    private final UserServiceClient userServiceClient;
+    private final Cache<String, UserDto> userCache;
+
+    public UserIdentityService(UserServiceClient userServiceClient, Cache<String, UserDto> userCache) {
+        this.userServiceClient = userServiceClient;
+        this.userCache = userCache;
+    }
+
+    public UserDto getUserByEmail(String email, String token) {
+        UserDto user = userCache.get(email, key -> userServiceClient.getUserByEmail(key, token));
+        if (user == null) {
+            throw new ResourceNotFoundException("Usuario no encontrado con email: " + email);
+        }
+        return user;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            userCache.invalidate(email);
+        }
+    }
+}
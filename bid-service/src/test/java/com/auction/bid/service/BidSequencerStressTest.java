@@ -0,0 +1,208 @@
+package com.auction.bid.service;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.exception.BusinessRuleException;
+import com.auction.bid.model.AuctionBook;
+import com.auction.bid.model.Bid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BidSequencerStressTest {
+
+    private static final int BIDDERS = 32;
+    private static final int BIDS = 5000;
+    private static final BigDecimal INCREMENT = BigDecimal.ONE;
+
+    private BidSequencer sequencer;
+    private ExecutorService bidders;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new BidSequencer(4, 10000);
+        bidders = Executors.newFixedThreadPool(BIDDERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bidders.shutdownNow();
+        sequencer.shutdown();
+    }
+
+    @Test
+    void parallelBidsOnOneAuctionAreAcceptedInMonotonicOrder() throws Exception {
+        AuctionBook book = openBook(1L);
+        List<BigDecimal> accepted = fireBids(List.of(book), BIDS).get(0);
+
+        assertFalse(accepted.isEmpty());
+        assertMonotonic(accepted);
+        assertEquals(accepted.get(accepted.size() - 1), book.getCurrentPrice());
+    }
+
+    @Test
+    void parallelBidsOnManyAuctionsStayMonotonicPerAuction() throws Exception {
+        List<AuctionBook> books = new ArrayList<>();
+        for (long id = 1; id <= 16; id++) {
+            books.add(openBook(id));
+        }
+        // Todas las subastas a la vez: pujas de la misma subasta compiten entre sí y con otros carriles
+        List<List<BigDecimal>> sequences = fireBids(books, BIDS / 10);
+
+        for (int i = 0; i < books.size(); i++) {
+            List<BigDecimal> accepted = sequences.get(i);
+            assertFalse(accepted.isEmpty());
+            assertMonotonic(accepted);
+            assertEquals(accepted.get(accepted.size() - 1), books.get(i).getCurrentPrice());
+        }
+    }
+
+    @Test
+    void timedOutTaskThatAlreadyStartedReturnsItsResult() {
+        BidSequencer slowSequencer = new BidSequencer(1, 100);
+        try {
+            // Supera la primera espera pero termina dentro de la segunda
+            String result = slowSequencer.execute(1L, () -> {
+                Thread.sleep(150);
+                return "aceptada";
+            });
+            assertEquals("aceptada", result);
+        } finally {
+            slowSequencer.shutdown();
+        }
+    }
+
+    @Test
+    void startedTaskThatOverrunsBothDeadlinesReportsUnknownOutcome() {
+        BidSequencer slowSequencer = new BidSequencer(1, 100);
+        try {
+            assertThrows(BidSequencer.StartedTaskTimeoutException.class, () -> slowSequencer.execute(1L, () -> {
+                Thread.sleep(400);
+                return "aceptada";
+            }));
+        } finally {
+            slowSequencer.shutdown();
+        }
+    }
+
+    @Test
+    void timedOutTaskThatNeverStartedIsNotRun() throws Exception {
+        BidSequencer slowSequencer = new BidSequencer(1, 50);
+        AtomicBoolean ran = new AtomicBoolean();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Ocupa el único carril para que la segunda tarea siga en cola al agotarse la espera
+            bidders.submit(() -> slowSequencer.run(1L, () -> awaitQuietly(release)));
+            Thread.sleep(20);
+            assertThrows(IllegalStateException.class, () -> slowSequencer.run(1L, () -> ran.set(true)));
+            release.countDown();
+            slowSequencer.execute(1L, () -> null);
+            assertFalse(ran.get());
+        } finally {
+            release.countDown();
+            slowSequencer.shutdown();
+        }
+    }
+
+    // Lanza pujas en paralelo sobre todos los libros a la vez; cada puja lee el precio
+    // visible y puja encima, como un cliente real
+    private List<List<BigDecimal>> fireBids(List<AuctionBook> books, int countPerBook) throws Exception {
+        List<List<BigDecimal>> acceptedPerBook = new ArrayList<>();
+        books.forEach(book -> acceptedPerBook.add(new ArrayList<>()));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < countPerBook; i++) {
+            String username = "bidder" + (i % BIDDERS) + "@test.com";
+            for (int b = 0; b < books.size(); b++) {
+                AuctionBook book = books.get(b);
+                List<BigDecimal> accepted = acceptedPerBook.get(b);
+                futures.add(bidders.submit(() -> {
+                    start.await();
+                    BigDecimal price = book.getCurrentPrice()
+                            .add(INCREMENT)
+                            .add(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(3)));
+                    Bid bid = newBid(book.getAuctionId(), username, price);
+                    try {
+                        sequencer.execute(book.getAuctionId(), () -> {
+                            Bid result = book.accept(bid, LocalDateTime.now());
+                            // Se ejecuta en el carril de la subasta: refleja el orden real de aceptación
+                            accepted.add(result.getBidPrice());
+                            return result;
+                        });
+                    } catch (BusinessRuleException e) {
+                        // Puja superada por otra: rechazo esperado
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        List<List<BigDecimal>> result = new ArrayList<>();
+        for (int b = 0; b < books.size(); b++) {
+            List<BigDecimal> accepted = acceptedPerBook.get(b);
+            result.add(sequencer.execute(books.get(b).getAuctionId(), () -> new ArrayList<>(accepted)));
+        }
+        return result;
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void assertMonotonic(List<BigDecimal> accepted) {
+        for (int i = 1; i < accepted.size(); i++) {
+            BigDecimal previous = accepted.get(i - 1);
+            BigDecimal current = accepted.get(i);
+            assertTrue(current.compareTo(previous.add(INCREMENT)) >= 0,
+                    "Puja " + current + " aceptada después de " + previous);
+        }
+    }
+
+    private AuctionBook openBook(Long auctionId) {
+        AuctionDto auction = new AuctionDto();
+        auction.setAuctionId(auctionId);
+        auction.setEstado("activa");
+        auction.setOwnerUsername("owner@test.com");
+        auction.setStartingPrice(BigDecimal.valueOf(100));
+        auction.setIncrementoMinimo(INCREMENT);
+        auction.setFechaInicio(LocalDateTime.now().minusHours(1));
+        auction.setFechaFin(LocalDateTime.now().plusHours(1));
+
+        AuctionBook book = new AuctionBook(auctionId);
+        book.applyAuctionState(auction);
+        return book;
+    }
+
+    private Bid newBid(Long auctionId, String username, BigDecimal price) {
+        Bid bid = new Bid();
+        bid.setAuctionId(auctionId);
+        bid.setUsername(username);
+        bid.setBidPrice(price);
+        return bid;
+    }
+}
@@ -0,0 +1,169 @@
+package com.auction.bid.service;
+
+import com.auction.bid.dto.AuctionDto;
+import com.auction.bid.exception.BusinessRuleException;
+import com.auction.bid.model.Bid;
+import com.auction.bid.repository.BidRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Camino completo de una puja: OrderBookService.accept en el carril de la
+ * subasta y persistencia por BidWriteBehindService contra un repositorio en
+ * memoria que registra el orden real de escritura.
+ */
+class OrderBookServiceStressTest {
+
+    private static final Long AUCTION_ID = 1L;
+    private static final String TOKEN = "token";
+    private static final int BIDDERS = 32;
+    private static final int BIDS = 2000;
+    private static final BigDecimal INCREMENT = BigDecimal.ONE;
+
+    // Precios en el orden en que llegan a saveAll (solo escribe el hilo bid-writer)
+    private final List<BigDecimal> persisted = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong ids = new AtomicLong();
+
+    private BidSequencer sequencer;
+    private BidWriteBehindService writeBehind;
+    private OrderBookService orderBookService;
+    private ExecutorService bidders;
+
+    @BeforeEach
+    void setUp() {
+        BidRepository bidRepository = mock(BidRepository.class);
+        when(bidRepository.findTopByAuctionIdOrderByBidPriceDesc(anyLong())).thenReturn(Optional.empty());
+        when(bidRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Bid> bids = invocation.getArgument(0);
+            for (Bid bid : bids) {
+                bid.setBidId(ids.incrementAndGet());
+                persisted.add(bid.getBidPrice());
+            }
+            return bids;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        BidValidationService bidValidationService = mock(BidValidationService.class);
+        when(bidValidationService.getAuctionInfo(AUCTION_ID, TOKEN)).thenReturn(openAuction());
+
+        writeBehind = new BidWriteBehindService(bidRepository, mock(BidEventOutbox.class), transactionManager);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 50);
+        ReflectionTestUtils.setField(writeBehind, "flushMs", 5L);
+        ReflectionTestUtils.setField(writeBehind, "maxAttempts", 3);
+        ReflectionTestUtils.setField(writeBehind, "commitTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(writeBehind, "transactionTimeoutS", 10);
+        writeBehind.start();
+
+        sequencer = new BidSequencer(4, 10000);
+        orderBookService = new OrderBookService(bidValidationService, bidRepository, sequencer, writeBehind);
+        ReflectionTestUtils.setField(orderBookService, "refreshMs", 30000L);
+
+        bidders = Executors.newFixedThreadPool(BIDDERS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bidders.shutdownNow();
+        sequencer.shutdown();
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void concurrentBidsOnOneAuctionPersistStrictlyIncreasingPrices() throws Exception {
+        List<BigDecimal> confirmed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BIDS; i++) {
+            String username = "bidder" + (i % BIDDERS) + "@test.com";
+            futures.add(bidders.submit(() -> {
+                start.await();
+                // Como un cliente real: lee el precio visible y puja encima
+                BigDecimal price = orderBookService.getBook(AUCTION_ID, TOKEN).getCurrentPrice()
+                        .add(INCREMENT)
+                        .add(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(3)));
+                try {
+                    Bid saved = writeBehind.await(orderBookService.accept(newBid(username, price), TOKEN));
+                    assertNotNull(saved.getBidId());
+                    confirmed.add(saved.getBidPrice());
+                } catch (BusinessRuleException e) {
+                    // Puja superada por otra: rechazo esperado
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        List<BigDecimal> written = new ArrayList<>(persisted);
+        assertFalse(written.isEmpty());
+        for (int i = 1; i < written.size(); i++) {
+            BigDecimal previous = written.get(i - 1);
+            BigDecimal current = written.get(i);
+            assertTrue(current.compareTo(previous.add(INCREMENT)) >= 0,
+                    "Puja " + current + " persistida después de " + previous);
+        }
+        // Cada puja confirmada al cliente está persistida, y ninguna más
+        assertEquals(written.size(), confirmed.size());
+        assertTrue(written.containsAll(confirmed));
+        assertEquals(0, writeBehind.getDeadLetterCount());
+        assertEquals(0, writeBehind.getAbandonedCount());
+
+        BigDecimal highest = written.get(written.size() - 1);
+        assertEquals(highest, orderBookService.getBook(AUCTION_ID, TOKEN).getCurrentPrice());
+        assertEquals(highest, orderBookService.getHighestBid(AUCTION_ID).getBidPrice());
+    }
+
+    private AuctionDto openAuction() {
+        AuctionDto auction = new AuctionDto();
+        auction.setAuctionId(AUCTION_ID);
+        auction.setEstado("activa");
+        auction.setOwnerUsername("owner@test.com");
+        auction.setStartingPrice(BigDecimal.valueOf(100));
+        auction.setIncrementoMinimo(INCREMENT);
+        auction.setFechaInicio(LocalDateTime.now().minusHours(1));
+        auction.setFechaFin(LocalDateTime.now().plusHours(1));
+        return auction;
+    }
+
+    private Bid newBid(String username, BigDecimal price) {
+        Bid bid = new Bid();
+        bid.setAuctionId(AUCTION_ID);
+        bid.setUsername(username);
+        bid.setBidPrice(price);
+        return bid;
+    }
+}
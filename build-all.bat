@@ -3,6 +3,25 @@ REM Script para construir todos los microservicios en Windows
 
 echo === Building Auction Microservices ===
 
+REM Módulos compartidos (seguridad y outbox): se instalan en el repositorio local antes que los servicios
+echo Installing security-common...
+cd security-common
+call mvn clean install -DskipTests
+if errorlevel 1 (
+    echo ❌ Failed to install security-common
+    exit /b 1
+)
+cd ..
+
+echo Installing outbox-common...
+cd outbox-common
+call mvn clean install -DskipTests
+if errorlevel 1 (
+    echo ❌ Failed to install outbox-common
+    exit /b 1
+)
+cd ..
+
 REM Función para construir un microservicio
 set "services=eureka-server api-gateway user-service auction-service bid-service notification-service"
 
@@ -24,6 +24,12 @@ build_service() {
     fi
 }
 
+# Módulos compartidos (seguridad y outbox): se instalan en el repositorio local antes que los servicios
+for module in security-common outbox-common; do
+    echo "Installing $module..."
+    (cd "$module" && mvn clean install -DskipTests) || { echo "❌ Failed to install $module"; exit 1; }
+done
+
 # Construir todos los microservicios
 services=("eureka-server" "api-gateway" "user-service" "auction-service" "bid-service" "notification-service")
 
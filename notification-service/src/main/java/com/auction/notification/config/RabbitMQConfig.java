@@ -0,0 +1,86 @@
+package com.auction.notification.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    @Value("${rabbitmq.exchange.bid}")
+    private String bidExchange;
+
+    @Value("${rabbitmq.queue.bid-events}")
+    private String bidEventsQueue;
+
+    @Value("${rabbitmq.exchange.auction}")
+    private String auctionExchange;
+
+    @Value("${rabbitmq.queue.auction-events}")
+    private String auctionEventsQueue;
+
+    @Value("${rabbitmq.exchange.rooms}")
+    private String roomsExchange;
+
+    @Bean
+    public TopicExchange bidEventsExchange() {
+        return new TopicExchange(bidExchange, true, false);
+    }
+
+    // Cola durable: las pujas publicadas mientras el servicio está caído no se pierden
+    @Bean
+    public Queue bidEventsQueue() {
+        return new Queue(bidEventsQueue, true);
+    }
+
+    @Bean
+    public Binding bidEventsBinding(Queue bidEventsQueue, TopicExchange bidEventsExchange) {
+        return BindingBuilder.bind(bidEventsQueue).to(bidEventsExchange).with("bid.placed");
+    }
+
+    @Bean
+    public TopicExchange auctionEventsExchange() {
+        return new TopicExchange(auctionExchange, true, false);
+    }
+
+    @Bean
+    public Queue auctionEventsQueue() {
+        return new Queue(auctionEventsQueue, true);
+    }
+
+    // Solo los eventos de subasta que se notifican a los clientes WebSocket
+    @Bean
+    public Declarables auctionEventsBindings(Queue auctionEventsQueue, TopicExchange auctionEventsExchange) {
+        return new Declarables(
+                BindingBuilder.bind(auctionEventsQueue).to(auctionEventsExchange).with("auction.extended"),
+                BindingBuilder.bind(auctionEventsQueue).to(auctionEventsExchange).with("auction.moderator-joined"),
+                BindingBuilder.bind(auctionEventsQueue).to(auctionEventsExchange).with("auction.finished")
+        );
+    }
+
+    // Backplane entre instancias: una routing key por sala (room.<auctionId>)
+    @Bean
+    public TopicExchange roomsExchange() {
+        return new TopicExchange(roomsExchange, true, false);
+    }
+
+    // Cola propia de cada instancia (exclusiva y auto-delete); los bindings se crean al entrar en cada sala
+    @Bean
+    public Queue roomBackplaneQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
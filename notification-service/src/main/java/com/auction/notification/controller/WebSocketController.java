@@ -4,6 +4,7 @@ import com.auction.notification.dto.NewBidEventDto;
 import com.auction.notification.dto.AuctionExtendedEventDto;
 import com.auction.notification.dto.ModeratorJoinedEventDto;
 import com.auction.notification.security.JwtUtils;
+import com.auction.notification.service.BidConflator;
 import com.auction.notification.service.WebSocketSessionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,9 @@ public class WebSocketController {
     @Autowired
     private WebSocketSessionManager sessionManager;
     
+    @Autowired
+    private BidConflator bidConflator;
+
     @Autowired
     private JwtUtils jwtUtils;
 
@@ -32,15 +36,7 @@ public class WebSocketController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        // Convertir DTO a formato WebSocket
-        Map<String, Object> bidData = Map.of(
-            "subastaId", eventDto.getAuctionId(),
-            "nuevoPrecio", eventDto.getNewPrice(),
-            "nombrePujador", eventDto.getBidderUsername(),
-            "timestamp", eventDto.getTimestamp()
-        );
-        
-        sessionManager.sendNewBid(eventDto.getAuctionId(), bidData);
+        bidConflator.offer(eventDto);
         return ResponseEntity.ok().build();
     }
 
@@ -102,7 +98,10 @@ public class WebSocketController {
     public Map<String, Object> getWebSocketStats() {
         return Map.of(
                 "activeSessions", sessionManager.getActiveSessionsCount(),
-                "activeRooms", sessionManager.getAuctionRoomCount()
+                "activeRooms", sessionManager.getAuctionRoomCount(),
+                "droppedFrames", sessionManager.getDroppedFramesCount(),
+                "slowSessionsClosed", sessionManager.getSlowConsumersClosedCount(),
+                "conflatedBids", bidConflator.getConflatedCount()
         );
     }
     
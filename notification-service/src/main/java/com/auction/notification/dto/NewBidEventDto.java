@@ -8,6 +8,8 @@ public class NewBidEventDto {
     private BigDecimal newPrice;
     private String bidderUsername;
     private LocalDateTime timestamp;
+    private Long bidId;
+    private Long userId;
     
     // Constructor por defecto
     public NewBidEventDto() {}
@@ -52,4 +54,20 @@ public class NewBidEventDto {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
+    
+    public Long getBidId() {
+        return bidId;
+    }
+    
+    public void setBidId(Long bidId) {
+        this.bidId = bidId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
 }
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -52,11 +54,26 @@ public class AuctionWebSocketHandler implements WebSocketHandler {
 
             switch (action) {
                 case "join_auction":
+                    // Compatibilidad con clientes de una sola sala: cambia de sala
                     String auctionId = (String) messageData.get("auctionId");
+                    sessionManager.leaveAllRooms(session);
                     sessionManager.joinAuctionRoom(session, auctionId);
                     break;
                 case "leave_auction":
-                    sessionManager.leaveAuctionRoom(session);
+                    if (messageData.get("auctionId") != null) {
+                        sessionManager.leaveAuctionRoom(session, String.valueOf(messageData.get("auctionId")));
+                    } else {
+                        sessionManager.leaveAllRooms(session);
+                    }
+                    break;
+                case "subscribe":
+                    // ✅ Varias salas en un solo mensaje: {"action":"subscribe","auctionIds":["1","2"]}
+                    List<String> rejected = sessionManager.joinAuctionRooms(session, extractAuctionIds(messageData));
+                    sendSubscriptions(session, rejected);
+                    break;
+                case "unsubscribe":
+                    sessionManager.leaveAuctionRooms(session, extractAuctionIds(messageData));
+                    sendSubscriptions(session, List.of());
                     break;
                 default:
                     sendErrorMessage(session, "Unknown action: " + action);
@@ -66,6 +83,31 @@ public class AuctionWebSocketHandler implements WebSocketHandler {
         }
     }
 
+    private List<String> extractAuctionIds(Map<String, Object> messageData) {
+        Object auctionIds = messageData.get("auctionIds");
+        if (!(auctionIds instanceof List<?> ids)) {
+            throw new IllegalArgumentException("auctionIds must be a list");
+        }
+        List<String> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            if (id != null) {
+                result.add(String.valueOf(id));
+            }
+        }
+        return result;
+    }
+
+    // Confirma las salas actuales de la sesión y las que no se pudieron suscribir por el límite
+    private void sendSubscriptions(WebSocketSession session, List<String> rejected) {
+        sessionManager.sendToSession(session, Map.of(
+                "event", "suscripciones_actualizadas",
+                "data", Map.of(
+                        "salas", sessionManager.getRooms(session),
+                        "rechazadas", rejected
+                )
+        ));
+    }
+
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         System.err.println("WebSocket transport error: " + exception.getMessage());
@@ -98,7 +140,12 @@ public class AuctionWebSocketHandler implements WebSocketHandler {
                     "event", "error_notificacion",
                     "data", Map.of("codigo", "401", "mensaje", message)
             );
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
+            if (Boolean.TRUE.equals(session.getAttributes().get("authenticated"))) {
+                // La sesión ya tiene su cola de salida: no enviar en paralelo con su escritor
+                sessionManager.sendToSession(session, errorMessage);
+            } else {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMessage)));
+            }
         } catch (IOException e) {
             System.err.println("Error sending error message: " + e.getMessage());
         }
@@ -1,5 +1,6 @@
 package com.auction.notification.security;
 
+import com.auction.security.InternalClaimsVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,14 +23,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private InternalClaimsVerifier internalClaimsVerifier;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
+            // Los claims firmados por el API Gateway evitan volver a verificar el JWT
+            InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+            String username = claims != null ? claims.getUsername() : null;
+            if (username == null) {
+                String jwt = parseJwt(request);
+                if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+                    username = jwtUtils.getUserNameFromJwtToken(jwt);
+                }
+            }
+            if (username != null) {
                 // Crear authorities básicas para el usuario autenticado
                 List<SimpleGrantedAuthority> authorities =
                         List.of(new SimpleGrantedAuthority("ROLE_PARTICIPANTE"));
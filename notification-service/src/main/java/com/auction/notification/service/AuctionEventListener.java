@@ -0,0 +1,59 @@
+package com.auction.notification.service;
+
+import com.auction.notification.dto.AuctionEventDto;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consume los eventos de subasta publicados por el outbox de auction-service
+ * y los reenvía a la sala WebSocket correspondiente.
+ */
+@Component
+public class AuctionEventListener {
+
+    private final WebSocketSessionManager sessionManager;
+    private final EventDeduplicator eventDeduplicator;
+
+    public AuctionEventListener(WebSocketSessionManager sessionManager, EventDeduplicator eventDeduplicator) {
+        this.sessionManager = sessionManager;
+        this.eventDeduplicator = eventDeduplicator;
+    }
+
+    @RabbitListener(queues = "#{auctionEventsQueue.name}")
+    public void onAuctionEvent(AuctionEventDto event,
+                               @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        if (!eventDeduplicator.firstDelivery(messageId)) {
+            return;
+        }
+
+        String auctionId = event.getAuctionId().toString();
+        Map<String, Object> data = new HashMap<>();
+        data.put("subastaId", auctionId);
+
+        switch (event.getEventType()) {
+            case "extended" -> {
+                data.put("nuevaHoraFin", event.getFechaFin() != null ? event.getFechaFin().toString() : null);
+                data.put("minutosAñadidos", event.getMinutesAdded());
+                sessionManager.sendAuctionExtended(auctionId, data);
+            }
+            case "moderator-joined" -> {
+                data.put("nombreModerador", event.getModeratorName());
+                data.put("horaIngreso", event.getOccurredAt());
+                sessionManager.sendModeratorJoined(auctionId, data);
+            }
+            case "finished" -> {
+                data.put("estado", event.getEstado());
+                data.put("horaFin", event.getOccurredAt());
+                sessionManager.sendAuctionFinished(auctionId, data);
+            }
+            default -> {
+                // Otros eventos no se notifican por WebSocket
+            }
+        }
+    }
+}
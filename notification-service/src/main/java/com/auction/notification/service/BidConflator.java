@@ -0,0 +1,101 @@
+package com.auction.notification.service;
+
+import com.auction.notification.dto.NewBidEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa las pujas de cada sala y envía como mucho un frame "nueva_puja" por
+ * tick con el precio más alto, su pujador y cuántas pujas se agruparon.
+ * En una guerra de pujas los clientes solo necesitan el último precio.
+ */
+@Component
+public class BidConflator {
+
+    private final Map<String, PendingBid> pending = new ConcurrentHashMap<>();
+    private final WebSocketSessionManager sessionManager;
+    private final Counter receivedBids;
+    private final Counter conflatedBids;
+    private final Counter sentFrames;
+
+    // false: cada puja se envía en cuanto llega, sin agrupar
+    @Value("${websocket.conflation.enabled:true}")
+    private boolean enabled;
+
+    public BidConflator(WebSocketSessionManager sessionManager, MeterRegistry meterRegistry) {
+        this.sessionManager = sessionManager;
+        this.receivedBids = Counter.builder("websocket.bids.received")
+                .description("Pujas recibidas para enviar a las salas")
+                .register(meterRegistry);
+        this.conflatedBids = Counter.builder("websocket.bids.conflated")
+                .description("Pujas absorbidas por un frame posterior de la misma sala")
+                .register(meterRegistry);
+        this.sentFrames = Counter.builder("websocket.bids.frames")
+                .description("Frames nueva_puja enviados tras la agrupación")
+                .register(meterRegistry);
+    }
+
+    public void offer(NewBidEventDto event) {
+        receivedBids.increment();
+        if (!enabled) {
+            send(event.getAuctionId(), new PendingBid().merge(event));
+            return;
+        }
+        pending.compute(event.getAuctionId(), (auctionId, bid) -> (bid != null ? bid : new PendingBid()).merge(event));
+    }
+
+    @Scheduled(fixedRateString = "${websocket.conflation.tick-ms:50}")
+    public void flush() {
+        for (String auctionId : pending.keySet()) {
+            PendingBid bid = pending.remove(auctionId);
+            if (bid != null) {
+                send(auctionId, bid);
+            }
+        }
+    }
+
+    private void send(String auctionId, PendingBid bid) {
+        Map<String, Object> bidData = new HashMap<>();
+        bidData.put("subastaId", auctionId);
+        bidData.put("nuevoPrecio", bid.price);
+        bidData.put("nombrePujador", bid.bidder);
+        bidData.put("timestamp", bid.timestamp);
+        bidData.put("numeroPujas", bid.count);
+
+        conflatedBids.increment(bid.count - 1);
+        sentFrames.increment();
+        sessionManager.sendNewBid(auctionId, bidData);
+    }
+
+    public long getConflatedCount() {
+        return (long) conflatedBids.count();
+    }
+
+    // Estado agrupado de una sala; solo se modifica dentro de compute()
+    private static class PendingBid {
+        private BigDecimal price;
+        private String bidder;
+        private LocalDateTime timestamp;
+        private int count;
+
+        PendingBid merge(NewBidEventDto event) {
+            count++;
+            // Las pujas pueden llegar desordenadas: gana siempre el precio más alto
+            if (price == null || (event.getNewPrice() != null && event.getNewPrice().compareTo(price) > 0)) {
+                price = event.getNewPrice();
+                bidder = event.getBidderUsername();
+                timestamp = event.getTimestamp();
+            }
+            return this;
+        }
+    }
+}
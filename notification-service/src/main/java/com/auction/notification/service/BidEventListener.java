@@ -0,0 +1,35 @@
+package com.auction.notification.service;
+
+import com.auction.notification.dto.NewBidEventDto;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consume las pujas publicadas por bid-service y las reenvía a la sala
+ * WebSocket de la subasta (agrupadas por BidConflator). Sustituye al
+ * broadcast síncrono por Feign.
+ */
+@Component
+public class BidEventListener {
+
+    private final BidConflator bidConflator;
+    private final EventDeduplicator eventDeduplicator;
+
+    public BidEventListener(BidConflator bidConflator, EventDeduplicator eventDeduplicator) {
+        this.bidConflator = bidConflator;
+        this.eventDeduplicator = eventDeduplicator;
+    }
+
+    @RabbitListener(queues = "#{bidEventsQueue.name}")
+    public void onBidPlaced(NewBidEventDto eventDto,
+                            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        if (!eventDeduplicator.firstDelivery(messageId)) {
+            return;
+        }
+
+        // Las ráfagas de pujas de una misma sala se agrupan antes de llegar a los sockets
+        bidConflator.offer(eventDto);
+    }
+}
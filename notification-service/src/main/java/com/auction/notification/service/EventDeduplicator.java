@@ -0,0 +1,30 @@
+package com.auction.notification.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recuerda los últimos ids de mensaje procesados para descartar las
+ * re-entregas de RabbitMQ (los productores publican al menos una vez).
+ */
+@Component
+public class EventDeduplicator {
+
+    private static final int MAX_TRACKED = 10000;
+
+    private final Set<String> processed = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TRACKED;
+        }
+    });
+
+    // true si el mensaje no se había visto antes (o no trae id)
+    public synchronized boolean firstDelivery(String messageId) {
+        return messageId == null || processed.add(messageId);
+    }
+}
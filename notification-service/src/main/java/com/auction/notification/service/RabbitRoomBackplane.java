@@ -0,0 +1,133 @@
+package com.auction.notification.service;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Backplane sobre RabbitMQ: un exchange topic con una routing key por sala
+ * (room.<auctionId>) y una cola anónima, exclusiva y auto-delete por instancia.
+ * Los frames se publican no persistentes y se consumen sin ack (como mucho una vez).
+ * La propia instancia ignora sus frames: ya los entregó por la vía local.
+ */
+@Component
+public class RabbitRoomBackplane implements RoomBackplane {
+
+    private static final String ROUTING_KEY_PREFIX = "room.";
+    private static final String ORIGIN_HEADER = "origin";
+    private static final String AUCTION_HEADER = "auctionId";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<String> subscribedRooms = ConcurrentHashMap.newKeySet();
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final TopicExchange roomsExchange;
+    private final Queue roomBackplaneQueue;
+
+    private volatile BiConsumer<String, String> receiver = (auctionId, frame) -> { };
+
+    public RabbitRoomBackplane(RabbitTemplate rabbitTemplate, AmqpAdmin amqpAdmin, ConnectionFactory connectionFactory,
+                               TopicExchange roomsExchange, Queue roomBackplaneQueue) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.roomsExchange = roomsExchange;
+        this.roomBackplaneQueue = roomBackplaneQueue;
+        // La cola auto-delete desaparece con la conexión: al reconectar se vuelven a crear los bindings
+        connectionFactory.addConnectionListener(connection -> resubscribeAll());
+    }
+
+    @Override
+    public void publish(String auctionId, String frame) {
+        Message message = MessageBuilder.withBody(frame.getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.NON_PERSISTENT)
+                .setHeader(ORIGIN_HEADER, instanceId)
+                .setHeader(AUCTION_HEADER, auctionId)
+                .build();
+        try {
+            rabbitTemplate.send(roomsExchange.getName(), ROUTING_KEY_PREFIX + auctionId, message);
+        } catch (Exception e) {
+            // Como mucho una vez: el frame se pierde para las demás instancias
+            System.err.println("Error publishing frame for auction room " + auctionId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String auctionId) {
+        if (subscribedRooms.add(auctionId)) {
+            try {
+                amqpAdmin.declareBinding(binding(auctionId));
+            } catch (Exception e) {
+                subscribedRooms.remove(auctionId);
+                System.err.println("Error subscribing to auction room " + auctionId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(String auctionId) {
+        if (subscribedRooms.remove(auctionId)) {
+            try {
+                amqpAdmin.removeBinding(binding(auctionId));
+            } catch (Exception e) {
+                System.err.println("Error unsubscribing from auction room " + auctionId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(BiConsumer<String, String> receiver) {
+        this.receiver = receiver;
+    }
+
+    @RabbitListener(queues = "#{roomBackplaneQueue.name}", ackMode = "NONE")
+    public void onFrame(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (instanceId.equals(properties.getHeader(ORIGIN_HEADER))) {
+            return;
+        }
+        String auctionId = properties.getHeader(AUCTION_HEADER);
+        if (auctionId != null) {
+            receiver.accept(auctionId, new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    public int getSubscribedRoomCount() {
+        return subscribedRooms.size();
+    }
+
+    private void resubscribeAll() {
+        if (subscribedRooms.isEmpty()) {
+            return;
+        }
+        try {
+            amqpAdmin.declareQueue(roomBackplaneQueue);
+            for (String auctionId : subscribedRooms) {
+                amqpAdmin.declareBinding(binding(auctionId));
+            }
+        } catch (Exception e) {
+            System.err.println("Error restoring auction room bindings: " + e.getMessage());
+        }
+    }
+
+    private Binding binding(String auctionId) {
+        return BindingBuilder.bind(roomBackplaneQueue).to(roomsExchange).with(ROUTING_KEY_PREFIX + auctionId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.auction.notification.service;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Canal entre instancias de notification-service para las salas de subasta.
+ * Cada instancia se suscribe solo a las salas en las que tiene sesiones
+ * locales y recibe los frames que otras instancias publican en ellas.
+ * La entrega es como mucho una vez: un frame perdido se corrige con el siguiente.
+ */
+public interface RoomBackplane {
+
+    // Publica un frame ya serializado para el resto de instancias
+    void publish(String auctionId, String frame);
+
+    void subscribe(String auctionId);
+
+    void unsubscribe(String auctionId);
+
+    // Receptor de los frames publicados por otras instancias: (auctionId, frame)
+    void setReceiver(BiConsumer<String, String> receiver);
+}
@@ -0,0 +1,189 @@
+package com.auction.notification.service;
+
+import jakarta.websocket.Session;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buffer de salida acotado (en bytes) de una sesión WebSocket. Quien publica
+ * (el carril de la sala) solo encola el frame ya serializado y vuelve; el
+ * envío al socket lo hace siempre una tarea de vaciado de la sesión en el
+ * pool de escritores, una sola a la vez por sesión, así que un cliente lento
+ * nunca retiene al carril ni a las demás salas.
+ * Si el buffer supera su límite se descartan los frames más antiguos (drop)
+ * o se cierra la sesión (close).
+ */
+public class SessionOutbox implements Runnable {
+
+    // Límite de una escritura bloqueante en Tomcat: acota lo que un cliente lento retiene a un escritor
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    // Frames enviados como máximo por turno antes de ceder el hilo a otra sesión
+    private static final int MAX_FRAMES_PER_RUN = 64;
+
+    private final WebSocketSession session;
+    private final Deque<TextMessage> buffer = new ArrayDeque<>();
+    private final Executor writers;
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimit;
+    private final boolean closeOnOverflow;
+    private final SlowConsumerListener listener;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private int pendingBytes;
+
+    public SessionOutbox(WebSocketSession session, int sendTimeLimitMs, int bufferSizeLimit, Executor writers,
+                         boolean closeOnOverflow, SlowConsumerListener listener) {
+        this.session = session;
+        this.writers = writers;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.closeOnOverflow = closeOnOverflow;
+        this.listener = listener;
+        limitBlockingSend(session, sendTimeLimitMs);
+    }
+
+    // false si la sesión ya no debe recibir más frames. Nunca escribe en el socket
+    public boolean offer(TextMessage frame) {
+        if (closed || !session.isOpen()) {
+            return false;
+        }
+        int dropped = 0;
+        boolean overflowClose = false;
+        synchronized (buffer) {
+            while (!buffer.isEmpty() && pendingBytes + frame.getPayloadLength() > bufferSizeLimit) {
+                if (closeOnOverflow) {
+                    break;
+                }
+                // Cliente lento: se pierde el frame más antiguo, el más reciente es el que importa
+                pendingBytes -= buffer.poll().getPayloadLength();
+                dropped++;
+            }
+            if (closeOnOverflow && !buffer.isEmpty() && pendingBytes + frame.getPayloadLength() > bufferSizeLimit) {
+                buffer.clear();
+                pendingBytes = 0;
+                closed = true;
+                overflowClose = true;
+            } else {
+                buffer.offer(frame);
+                pendingBytes += frame.getPayloadLength();
+            }
+        }
+        for (int i = 0; i < dropped; i++) {
+            listener.onFrameDropped(session);
+        }
+        if (overflowClose) {
+            listener.onSlowConsumerClosed(session);
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    // Tarea de vaciado: solo una en curso por sesión, así los frames salen en orden y sin envíos concurrentes
+    @Override
+    public void run() {
+        try {
+            TextMessage frame;
+            int sent = 0;
+            while (sent < MAX_FRAMES_PER_RUN && (frame = poll()) != null) {
+                if (closed || !session.isOpen()) {
+                    clear();
+                    return;
+                }
+                long start = System.nanoTime();
+                session.sendMessage(frame);
+                sent++;
+                if ((System.nanoTime() - start) / 1_000_000 > sendTimeLimitMs) {
+                    closeSlowConsumer();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error sending message to session " + session.getId() + ": " + e.getMessage());
+            closeSlowConsumer();
+        } finally {
+            scheduled.set(false);
+            if (!closed && getPendingBytes() > 0) {
+                schedule();
+            }
+        }
+    }
+
+    public int getPendingBytes() {
+        synchronized (buffer) {
+            return pendingBytes;
+        }
+    }
+
+    private TextMessage poll() {
+        synchronized (buffer) {
+            TextMessage frame = buffer.poll();
+            if (frame != null) {
+                pendingBytes -= frame.getPayloadLength();
+            }
+            return frame;
+        }
+    }
+
+    private void clear() {
+        synchronized (buffer) {
+            buffer.clear();
+            pendingBytes = 0;
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Pool detenido (apagado del servicio)
+                scheduled.set(false);
+            }
+        }
+    }
+
+    // El envío superó send-time-limit-ms o falló (p. ej. por BLOCKING_SEND_TIMEOUT)
+    private void closeSlowConsumer() {
+        closed = true;
+        clear();
+        listener.onSlowConsumerClosed(session);
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void limitBlockingSend(WebSocketSession delegate, int sendTimeLimitMs) {
+        try {
+            Session nativeSession = delegate instanceof NativeWebSocketSession nativeWebSocketSession
+                    ? nativeWebSocketSession.getNativeSession(Session.class) : null;
+            if (nativeSession != null) {
+                nativeSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, (long) sendTimeLimitMs);
+            }
+        } catch (Exception e) {
+            System.err.println("Could not limit blocking send for session " + delegate.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private void close(CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (Exception e) {
+            System.err.println("Error closing session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+
+    public interface SlowConsumerListener {
+        void onFrameDropped(WebSocketSession session);
+
+        void onSlowConsumerClosed(WebSocketSession session);
+    }
+}
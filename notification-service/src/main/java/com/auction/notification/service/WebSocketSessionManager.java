@@ -1,66 +1,227 @@
 package com.auction.notification.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-public class WebSocketSessionManager {
+public class WebSocketSessionManager implements SessionOutbox.SlowConsumerListener {
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoomBackplane roomBackplane;
+
+    // drop: descarta los frames más antiguos; close: cierra la sesión lenta
+    @Value("${websocket.outbound.overflow:drop}")
+    private String overflowPolicy;
+
+    @Value("${websocket.outbound.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.outbound.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    // Hilos que escriben en los sockets; cada sesión ocupa como mucho uno a la vez
+    @Value("${websocket.outbound.writer-threads:8}")
+    private int writerThreads;
+
+    @Value("${websocket.outbound.fanout-lanes:2}")
+    private int fanoutLanes;
+
+    @Value("${websocket.rooms.max-per-session:50}")
+    private int maxRoomsPerSession;
+
     // Mapa de sesiones por sala de subasta
     private final Map<String, CopyOnWriteArraySet<WebSocketSession>> auctionRooms = new ConcurrentHashMap<>();
 
-    // Mapa de sesión a sala actual
-    private final Map<WebSocketSession, String> sessionToRoom = new ConcurrentHashMap<>();
+    // Índice inverso: salas a las que está suscrita cada sesión
+    private final Map<WebSocketSession, Set<String>> sessionRooms = new ConcurrentHashMap<>();
+
+    // Cola de salida de cada sesión autenticada, por id de sesión
+    private final Map<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+
+    private ExecutorService[] lanes;
+    private ExecutorService writers;
+    private Counter droppedFrames;
+    private Counter slowConsumersClosed;
+
+    @PostConstruct
+    public void init() {
+        // Cada sala reparte siempre desde el mismo carril: los frames llegan en orden.
+        // El carril solo encola en el buffer de cada sesión (SessionOutbox); los envíos al socket
+        // los hacen los escritores, con una sola tarea de vaciado en curso por sesión
+        writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), daemonThreads("ws-writer-"));
+        lanes = new ExecutorService[Math.max(1, fanoutLanes)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(daemonThreads("ws-fanout-" + i + "-"));
+        }
+        droppedFrames = Counter.builder("websocket.frames.dropped")
+                .description("Frames descartados por clientes lentos")
+                .register(meterRegistry);
+        slowConsumersClosed = Counter.builder("websocket.sessions.slow.closed")
+                .description("Sesiones cerradas por no consumir a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.pending.bytes", outboxes,
+                        map -> map.values().stream().mapToInt(SessionOutbox::getPendingBytes).sum())
+                .description("Bytes en los buffers de salida pendientes de envío")
+                .register(meterRegistry);
+        roomBackplane.setReceiver(this::deliverFromBackplane);
+    }
 
     public void addSession(WebSocketSession session) {
-        // Sesión autenticada agregada
+        // Sesión autenticada agregada, con su propia cola de salida
+        outboxes.put(session.getId(), new SessionOutbox(session, sendTimeLimitMs, bufferSizeLimit, writers,
+                "close".equalsIgnoreCase(overflowPolicy), this));
         System.out.println("Session added: " + session.getId());
     }
 
     public void removeSession(WebSocketSession session) {
-        String currentRoom = sessionToRoom.remove(session);
-        if (currentRoom != null) {
-            CopyOnWriteArraySet<WebSocketSession> roomSessions = auctionRooms.get(currentRoom);
-            if (roomSessions != null) {
-                roomSessions.remove(session);
-                if (roomSessions.isEmpty()) {
-                    auctionRooms.remove(currentRoom);
-                }
+        leaveAllRooms(session);
+        outboxes.remove(session.getId());
+    }
+
+    // false si la sesión ya alcanzó el máximo de salas
+    public boolean joinAuctionRoom(WebSocketSession session, String auctionId) {
+        Set<String> rooms = sessionRooms.computeIfAbsent(session, k -> new HashSet<>());
+        synchronized (rooms) {
+            if (rooms.contains(auctionId)) {
+                return true;
+            }
+            if (rooms.size() >= maxRoomsPerSession) {
+                return false;
+            }
+            rooms.add(auctionId);
+        }
+
+        auctionRooms.compute(auctionId, (k, roomSessions) -> {
+            CopyOnWriteArraySet<WebSocketSession> sessions = roomSessions != null ? roomSessions : new CopyOnWriteArraySet<>();
+            sessions.add(session);
+            return sessions;
+        });
+        syncSubscription(auctionId);
+
+        System.out.println("User joined auction room: " + auctionId);
+        return true;
+    }
+
+    // ✅ Suscribe la sesión a varias salas en una sola operación; devuelve las que superan el límite
+    public List<String> joinAuctionRooms(WebSocketSession session, Collection<String> auctionIds) {
+        List<String> rejected = new ArrayList<>();
+        for (String auctionId : auctionIds) {
+            if (!joinAuctionRoom(session, auctionId)) {
+                rejected.add(auctionId);
             }
         }
+        return rejected;
+    }
+
+    public void leaveAuctionRoom(WebSocketSession session, String auctionId) {
+        Set<String> rooms = sessionRooms.get(session);
+        if (rooms == null) {
+            return;
+        }
+        boolean removed;
+        synchronized (rooms) {
+            removed = rooms.remove(auctionId);
+        }
+        if (removed) {
+            removeFromRoom(session, auctionId);
+        }
     }
 
-    public void joinAuctionRoom(WebSocketSession session, String auctionId) {
-        // Salir de la sala actual si existe
-        leaveAuctionRoom(session);
+    public void leaveAuctionRooms(WebSocketSession session, Collection<String> auctionIds) {
+        for (String auctionId : auctionIds) {
+            leaveAuctionRoom(session, auctionId);
+        }
+    }
 
-        // Unirse a la nueva sala
-        auctionRooms.computeIfAbsent(auctionId, k -> new CopyOnWriteArraySet<>()).add(session);
-        sessionToRoom.put(session, auctionId);
+    public void leaveAllRooms(WebSocketSession session) {
+        Set<String> rooms = sessionRooms.remove(session);
+        if (rooms == null) {
+            return;
+        }
+        List<String> left;
+        synchronized (rooms) {
+            left = new ArrayList<>(rooms);
+            rooms.clear();
+        }
+        for (String auctionId : left) {
+            removeFromRoom(session, auctionId);
+        }
+    }
 
-        System.out.println("User joined auction room: " + auctionId);
+    public Set<String> getRooms(WebSocketSession session) {
+        Set<String> rooms = sessionRooms.get(session);
+        if (rooms == null) {
+            return Collections.emptySet();
+        }
+        synchronized (rooms) {
+            return new TreeSet<>(rooms);
+        }
     }
 
-    public void leaveAuctionRoom(WebSocketSession session) {
-        String currentRoom = sessionToRoom.remove(session);
-        if (currentRoom != null) {
-            CopyOnWriteArraySet<WebSocketSession> roomSessions = auctionRooms.get(currentRoom);
-            if (roomSessions != null) {
-                roomSessions.remove(session);
-                if (roomSessions.isEmpty()) {
-                    auctionRooms.remove(currentRoom);
+    private void removeFromRoom(WebSocketSession session, String auctionId) {
+        // La sala vacía se elimina de forma atómica para no perder un join concurrente
+        auctionRooms.computeIfPresent(auctionId, (k, roomSessions) -> {
+            roomSessions.remove(session);
+            return roomSessions.isEmpty() ? null : roomSessions;
+        });
+        syncSubscription(auctionId);
+    }
+
+    // La suscripción al backplane se ajusta en el carril de la sala, en orden con sus joins y leaves
+    private void syncSubscription(String auctionId) {
+        try {
+            lane(auctionId).execute(() -> {
+                if (auctionRooms.containsKey(auctionId)) {
+                    roomBackplane.subscribe(auctionId);
+                } else {
+                    roomBackplane.unsubscribe(auctionId);
                 }
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("Subscription change rejected for auction room " + auctionId + ": " + e.getMessage());
+        }
+    }
+
+    // Envía un mensaje a una sola sesión por su cola, sin competir con los envíos de la sala
+    public void sendToSession(WebSocketSession session, Map<String, Object> message) {
+        SessionOutbox outbox = outboxes.get(session.getId());
+        if (outbox == null) {
+            return;
+        }
+        try {
+            outbox.offer(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (Exception e) {
+            System.err.println("Error serializing message: " + e.getMessage());
         }
     }
 
@@ -85,43 +246,100 @@ public class WebSocketSessionManager {
         sendToAuctionRoom(auctionId, "subasta_extendida", extensionData);
     }
 
+    // ✅ El evento se serializa una sola vez y el mismo frame inmutable se comparte entre todas las sesiones;
+    // el reparto a las colas ocurre en el carril de la sala, no en el hilo que publica.
+    // Las sesiones locales se atienden directamente y el resto de instancias recibe el frame por el backplane
     private void sendToAuctionRoom(String auctionId, String event, Map<String, Object> data) {
-        CopyOnWriteArraySet<WebSocketSession> roomSessions = auctionRooms.get(auctionId);
-        if (roomSessions != null) {
-            Map<String, Object> message = Map.of(
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(Map.of(
                     "event", event,
                     "data", data
-            );
-
-            String messageJson;
-            try {
-                messageJson = objectMapper.writeValueAsString(message);
-            } catch (Exception e) {
-                System.err.println("Error serializing message: " + e.getMessage());
-                return;
-            }
+            ));
+        } catch (Exception e) {
+            System.err.println("Error serializing message: " + e.getMessage());
+            return;
+        }
 
-            roomSessions.removeIf(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.sendMessage(new TextMessage(messageJson));
-                        return false;
-                    } else {
-                        return true; // Remover sesión cerrada
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error sending message to session: " + e.getMessage());
-                    return true; // Remover sesión problemática
-                }
-            });
+        if (auctionRooms.containsKey(auctionId)) {
+            dispatch(auctionId, new TextMessage(payload));
+        }
+        roomBackplane.publish(auctionId, payload);
+    }
+
+    // Frame publicado por otra instancia para una sala con sesiones en esta
+    private void deliverFromBackplane(String auctionId, String payload) {
+        if (auctionRooms.containsKey(auctionId)) {
+            dispatch(auctionId, new TextMessage(payload));
+        }
+    }
+
+    private void dispatch(String auctionId, TextMessage frame) {
+        try {
+            lane(auctionId).execute(() -> fanOut(auctionId, frame));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Fan-out rejected for auction room " + auctionId + ": " + e.getMessage());
+        }
+    }
+
+    private void fanOut(String auctionId, TextMessage frame) {
+        CopyOnWriteArraySet<WebSocketSession> roomSessions = auctionRooms.get(auctionId);
+        if (roomSessions == null) {
+            return;
+        }
+        for (WebSocketSession session : roomSessions) {
+            SessionOutbox outbox = outboxes.get(session.getId());
+            if (outbox == null || !outbox.offer(frame)) {
+                removeSession(session); // Remover sesión cerrada o lenta
+            }
         }
     }
 
+    @Override
+    public void onFrameDropped(WebSocketSession session) {
+        droppedFrames.increment();
+    }
+
+    @Override
+    public void onSlowConsumerClosed(WebSocketSession session) {
+        slowConsumersClosed.increment();
+        System.err.println("Closing slow WebSocket session: " + session.getId());
+    }
+
     public int getActiveSessionsCount() {
-        return sessionToRoom.size();
+        return outboxes.size();
     }
 
     public int getAuctionRoomCount() {
         return auctionRooms.size();
     }
-}
\ No newline at end of file
+
+    public long getDroppedFramesCount() {
+        return (long) droppedFrames.count();
+    }
+
+    public long getSlowConsumersClosedCount() {
+        return (long) slowConsumersClosed.count();
+    }
+
+    private ExecutorService lane(String auctionId) {
+        return lanes[Math.floorMod(auctionId.hashCode(), lanes.length)];
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        writers.shutdown();
+    }
+}
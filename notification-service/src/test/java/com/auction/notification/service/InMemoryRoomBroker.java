@@ -0,0 +1,63 @@
+package com.auction.notification.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Sustituto en memoria del exchange de salas de RabbitMQ para las pruebas:
+ * enruta cada frame a los nodos suscritos a la sala, salvo al que lo publicó.
+ */
+class InMemoryRoomBroker {
+
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    Node connect() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    class Node implements RoomBackplane {
+
+        private final Set<String> rooms = ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> received = new ConcurrentHashMap<>();
+        private volatile BiConsumer<String, String> receiver = (auctionId, frame) -> { };
+
+        @Override
+        public void publish(String auctionId, String frame) {
+            for (Node node : nodes) {
+                if (node != this && node.rooms.contains(auctionId)) {
+                    node.received.merge(auctionId, 1, Integer::sum);
+                    node.receiver.accept(auctionId, frame);
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(String auctionId) {
+            rooms.add(auctionId);
+        }
+
+        @Override
+        public void unsubscribe(String auctionId) {
+            rooms.remove(auctionId);
+        }
+
+        @Override
+        public void setReceiver(BiConsumer<String, String> receiver) {
+            this.receiver = receiver;
+        }
+
+        boolean isSubscribed(String auctionId) {
+            return rooms.contains(auctionId);
+        }
+
+        int receivedCount(String auctionId) {
+            return received.getOrDefault(auctionId, 0);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.auction.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dos instancias de WebSocketSessionManager en el mismo proceso, conectadas
+ * por un broker en memoria que hace de RabbitMQ.
+ */
+class WebSocketRoomBackplaneTest {
+
+    private static final long WAIT_MS = 2000;
+
+    private InMemoryRoomBroker broker;
+    private InMemoryRoomBroker.Node backplaneA;
+    private InMemoryRoomBroker.Node backplaneB;
+    private WebSocketSessionManager instanceA;
+    private WebSocketSessionManager instanceB;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryRoomBroker();
+        backplaneA = broker.connect();
+        backplaneB = broker.connect();
+        instanceA = newInstance(backplaneA);
+        instanceB = newInstance(backplaneB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanceA.shutdown();
+        instanceB.shutdown();
+    }
+
+    @Test
+    void bidOnOneInstanceReachesSessionsOnBoth() throws Exception {
+        WebSocketSession sessionA = join(instanceA, "a-1", "7");
+        WebSocketSession sessionB = join(instanceB, "b-1", "7");
+        awaitTrue(() -> backplaneA.isSubscribed("7") && backplaneB.isSubscribed("7"));
+
+        instanceA.sendNewBid("7", Map.of("subastaId", "7", "nuevoPrecio", 150));
+
+        verify(sessionB, timeout(WAIT_MS)).sendMessage(argThat(frame -> isNewBid(frame, "150")));
+        // Vía local: la sesión de la instancia que publica recibe el frame una sola vez
+        verify(sessionA, after(200).times(1)).sendMessage(argThat(frame -> isNewBid(frame, "150")));
+        assertEquals(0, backplaneA.receivedCount("7"));
+    }
+
+    @Test
+    void instanceOnlyReceivesRoomsWithLocalMembers() throws Exception {
+        WebSocketSession sessionA = join(instanceA, "a-1", "1");
+        join(instanceB, "b-1", "2");
+        awaitTrue(() -> backplaneA.isSubscribed("1") && backplaneB.isSubscribed("2"));
+        assertFalse(backplaneA.isSubscribed("2"));
+        assertFalse(backplaneB.isSubscribed("1"));
+
+        instanceB.sendNewBid("2", Map.of("subastaId", "2", "nuevoPrecio", 10));
+        instanceB.sendNewBid("1", Map.of("subastaId", "1", "nuevoPrecio", 20));
+
+        verify(sessionA, timeout(WAIT_MS)).sendMessage(argThat(frame -> isNewBid(frame, "20")));
+        assertEquals(0, backplaneA.receivedCount("2"));
+
+        // Al salir la última sesión local la instancia deja de recibir la sala
+        instanceA.leaveAuctionRoom(sessionA, "1");
+        awaitTrue(() -> !backplaneA.isSubscribed("1"));
+
+        instanceB.sendNewBid("1", Map.of("subastaId", "1", "nuevoPrecio", 30));
+        verify(sessionA, after(200).never()).sendMessage(argThat(frame -> isNewBid(frame, "30")));
+        verify(sessionA, times(1)).sendMessage(any());
+    }
+
+    private WebSocketSessionManager newInstance(RoomBackplane backplane) {
+        WebSocketSessionManager manager = new WebSocketSessionManager();
+        ReflectionTestUtils.setField(manager, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(manager, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(manager, "roomBackplane", backplane);
+        ReflectionTestUtils.setField(manager, "overflowPolicy", "drop");
+        ReflectionTestUtils.setField(manager, "sendTimeLimitMs", 1000);
+        ReflectionTestUtils.setField(manager, "bufferSizeLimit", 65536);
+        ReflectionTestUtils.setField(manager, "writerThreads", 2);
+        ReflectionTestUtils.setField(manager, "fanoutLanes", 2);
+        ReflectionTestUtils.setField(manager, "maxRoomsPerSession", 10);
+        manager.init();
+        return manager;
+    }
+
+    private WebSocketSession join(WebSocketSessionManager manager, String sessionId, String auctionId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getId()).thenReturn(sessionId);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(attributes);
+        manager.addSession(session);
+        manager.joinAuctionRoom(session, auctionId);
+        return session;
+    }
+
+    private boolean isNewBid(WebSocketMessage<?> message, String price) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return false;
+        }
+        String payload = textMessage.getPayload();
+        return payload.contains("\"nueva_puja\"") && payload.contains("\"nuevoPrecio\":" + price);
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,83 @@
+package com.auction.outbox;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publica en RabbitMQ los eventos pendientes de un outbox, por lotes y con
+ * publisher confirms: un lote solo se marca como publicado cuando el broker
+ * lo ha confirmado entero. Si falla se reintenta en la siguiente pasada
+ * (entrega al menos una vez, en orden de id). Cada servicio lo envuelve en
+ * un componente con sus @Scheduled y su configuración.
+ */
+public class OutboxRelay<T extends OutboxEventBase> {
+
+    private final OutboxRepository<T> outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final String messageIdPrefix;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+
+    public OutboxRelay(OutboxRepository<T> outboxRepository, RabbitTemplate rabbitTemplate, String exchange,
+                       String messageIdPrefix, int batchSize, long confirmTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.messageIdPrefix = messageIdPrefix;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    // Vacía el outbox mientras haya lotes completos; devuelve cuántos eventos se publicaron
+    public int relay() {
+        int published = 0;
+        List<T> batch;
+        do {
+            batch = outboxRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return published;
+            }
+            try {
+                publish(batch);
+            } catch (Exception e) {
+                System.err.println("Error relaying " + messageIdPrefix + " events (" + batch.size() + "): " + e.getMessage());
+                return published;
+            }
+            outboxRepository.markPublished(batch.stream().map(OutboxEventBase::getId).toList(), LocalDateTime.now());
+            published += batch.size();
+        } while (batch.size() == batchSize);
+        return published;
+    }
+
+    public int purgePublishedBefore(LocalDateTime before) {
+        return outboxRepository.deletePublishedBefore(before);
+    }
+
+    private void publish(List<T> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (T event : batch) {
+                operations.send(exchange, event.getEventType(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    private Message toMessage(T event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        // El id del outbox permite a los consumidores descartar duplicados
+        properties.setMessageId(messageIdPrefix + "-" + event.getId());
+        properties.setHeader("aggregateId", event.getAggregateId());
+        properties.setHeader("eventId", event.getId());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
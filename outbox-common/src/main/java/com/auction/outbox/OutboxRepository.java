@@ -0,0 +1,31 @@
+package com.auction.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas del relay sobre la tabla outbox de un servicio. El repositorio
+ * de cada servicio la extiende con su entidad.
+ */
+@NoRepositoryBean
+public interface OutboxRepository<T extends OutboxEventBase> extends JpaRepository<T, Long> {
+    List<T> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE #{#entityName} e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM #{#entityName} e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,43 @@
+package com.auction.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Firma los claims ya verificados en la cabecera X-Internal-Claims:
+ * base64url("sub\nrole\nemail\nexp") + "." + base64url(HMAC-SHA256).
+ * Los servicios confían en ella sin volver a verificar el JWT.
+ */
+public class InternalClaimsSigner {
+
+    public static final String HEADER = "X-Internal-Claims";
+    static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public InternalClaimsSigner(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String sign(String subject, String role, String email, Instant expiresAt) {
+        String claims = nullToEmpty(subject) + "\n" + nullToEmpty(role) + "\n" + nullToEmpty(email) + "\n"
+                + (expiresAt != null ? expiresAt.getEpochSecond() : "");
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return payload + "." + encoder.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo firmar la cabecera interna", e);
+        }
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,105 @@
+package com.auction.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verifica la cabecera X-Internal-Claims que firma el API Gateway tras
+ * validar el JWT (ver InternalClaimsSigner). Comprobarla es un HMAC-SHA256
+ * sobre unos pocos bytes, sin volver a verificar ni parsear el token.
+ */
+public class InternalClaimsVerifier {
+
+    public static final String HEADER = InternalClaimsSigner.HEADER;
+    private static final String ALGORITHM = InternalClaimsSigner.ALGORITHM;
+    private static final String REQUEST_ATTRIBUTE = InternalClaimsVerifier.class.getName();
+    private static final Object NONE = new Object();
+
+    private final ThreadLocal<Mac> macs;
+
+    public InternalClaimsVerifier(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Mac no es seguro entre hilos: una instancia por hilo
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 no disponible", e);
+            }
+        });
+    }
+
+    // null si la cabecera falta, no está firmada por el gateway o ya caducó.
+    // El resultado se guarda en la petición: los filtros siguientes no repiten el HMAC
+    public InternalClaims verify(HttpServletRequest request) {
+        Object cached = request.getAttribute(REQUEST_ATTRIBUTE);
+        if (cached != null) {
+            return cached == NONE ? null : (InternalClaims) cached;
+        }
+        InternalClaims claims = verify(request.getHeader(HEADER));
+        request.setAttribute(REQUEST_ATTRIBUTE, claims != null ? claims : NONE);
+        return claims;
+    }
+
+    private InternalClaims verify(String header) {
+        if (header == null) {
+            return null;
+        }
+        int separator = header.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            String payload = header.substring(0, separator);
+            byte[] signature = Base64.getUrlDecoder().decode(header.substring(separator + 1));
+            byte[] expected = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                return null;
+            }
+
+            String[] parts = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != 4 || parts[0].isEmpty()) {
+                return null;
+            }
+            Instant expiresAt = parts[3].isEmpty() ? null : Instant.ofEpochSecond(Long.parseLong(parts[3]));
+            if (expiresAt != null && !Instant.now().isBefore(expiresAt)) {
+                return null;
+            }
+            return new InternalClaims(parts[0], emptyToNull(parts[1]), emptyToNull(parts[2]), expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    public static class InternalClaims {
+        private final String username;
+        private final String role;
+        private final String email;
+        private final Instant expiresAt;
+
+        public InternalClaims(String username, String role, String email, Instant expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() { return username; }
+        public String getRole() { return role; }
+        public String getEmail() { return email; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
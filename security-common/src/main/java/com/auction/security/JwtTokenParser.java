@@ -0,0 +1,92 @@
+package com.auction.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser de JWT compartido: la clave y el JwtParser se construyen una sola
+ * vez (el parser de jjwt es inmutable y seguro entre hilos). Dentro de una
+ * petición HTTP el token se verifica una vez y los claims quedan guardados
+ * en la petición para el resto de filtros y controladores.
+ */
+public class JwtTokenParser {
+
+    private static final String REQUEST_ATTRIBUTE = JwtTokenParser.class.getName() + ".claims";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenParser(String secret) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    // Clave para firmar tokens (auth-service)
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    // Lanza JwtException o IllegalArgumentException si el token no es válido
+    public TokenClaims parse(String token) {
+        return new TokenClaims(parser.parseClaimsJws(token).getBody());
+    }
+
+    // null si el token no es válido o ha caducado
+    public TokenClaims tryParse(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ✅ Igual que tryParse, pero reutiliza el resultado dentro de la misma petición HTTP
+    public TokenClaims tryParseForRequest(String token) {
+        if (token == null) {
+            return null;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return tryParse(token);
+        }
+        Object cached = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof ParsedToken parsed && parsed.token.equals(token)) {
+            return parsed.claims;
+        }
+        TokenClaims claims = tryParse(token);
+        attributes.setAttribute(REQUEST_ATTRIBUTE, new ParsedToken(token, claims), RequestAttributes.SCOPE_REQUEST);
+        return claims;
+    }
+
+    // Como tryParseForRequest, pero lanza JwtException si el token no es válido
+    public TokenClaims parseForRequest(String token) {
+        TokenClaims claims = tryParseForRequest(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims;
+    }
+
+    // Resultado guardado en la petición; claims null si el token no era válido
+    private static class ParsedToken {
+        private final String token;
+        private final TokenClaims claims;
+
+        ParsedToken(String token, TokenClaims claims) {
+            this.token = token;
+            this.claims = claims;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.auction.security;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de identificadores de tokens revocados (TokenDigest).
+ * auth-service lo construye desde su almacén de revocaciones y el gateway
+ * lo descarga: si mightContain devuelve false el token seguro que no está
+ * revocado; si devuelve true hay que confirmarlo con auth-service.
+ *
+ * Admite inserciones concurrentes con lecturas y serialización.
+ */
+public final class RevocationBloomFilter {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    private RevocationBloomFilter(AtomicLongArray words, int numHashes) {
+        this.words = words;
+        this.numBits = (long) words.length() * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    // Tamaño óptimo para esperar expectedInsertions elementos con una tasa de falsos positivos fpp
+    public static RevocationBloomFilter create(long expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp debe estar entre 0 y 1: " + fpp);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int numWords = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        int numHashes = (int) Math.max(1, Math.round((double) numWords * Long.SIZE / n * Math.log(2)));
+        return new RevocationBloomFilter(new AtomicLongArray(numWords), numHashes);
+    }
+
+    public void put(String tokenId) {
+        long h1 = hash(tokenId);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String tokenId) {
+        long h1 = hash(tokenId);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    // Formato: versión, número de hashes, número de palabras y las palabras de 64 bits
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + words.length() * Long.BYTES);
+        buffer.putInt(FORMAT_VERSION).putInt(numHashes).putInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer.array();
+    }
+
+    public static RevocationBloomFilter fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versión de filtro no soportada: " + version);
+        }
+        int numHashes = buffer.getInt();
+        int numWords = buffer.getInt();
+        if (numHashes < 1 || numWords < 1 || buffer.remaining() != numWords * Long.BYTES) {
+            throw new IllegalArgumentException("Filtro de revocaciones corrupto");
+        }
+        AtomicLongArray words = new AtomicLongArray(numWords);
+        for (int i = 0; i < numWords; i++) {
+            words.set(i, buffer.getLong());
+        }
+        return new RevocationBloomFilter(words, numHashes);
+    }
+
+    // FNV-1a de 64 bits, dos caracteres por paso, con mezcla final. Los identificadores ya son
+    // SHA-256, así que basta con dispersar; el segundo hash se deriva del primero
+    private static long hash(String value) {
+        long h = FNV_OFFSET;
+        int i = 0;
+        for (; i + 1 < value.length(); i += 2) {
+            h ^= ((long) value.charAt(i) << 16) | value.charAt(i + 1);
+            h *= FNV_PRIME;
+        }
+        if (i < value.length()) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
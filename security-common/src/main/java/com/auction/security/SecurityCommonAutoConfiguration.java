@@ -0,0 +1,39 @@
+package com.auction.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registra en cada servicio el parser de JWT compartido y, si está configurada
+ * auth.internalClaimsSecret, el firmante y el verificador de X-Internal-Claims.
+ */
+@AutoConfiguration
+public class SecurityCommonAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("auth.jwtSecret")
+    public JwtTokenParser jwtTokenParser(@Value("${auth.jwtSecret}") String jwtSecret) {
+        return new JwtTokenParser(jwtSecret);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("auth.internalClaimsSecret")
+    public InternalClaimsSigner internalClaimsSigner(@Value("${auth.internalClaimsSecret}") String secret) {
+        return new InternalClaimsSigner(secret);
+    }
+
+    // Solo en servicios servlet: el gateway (reactivo) firma pero no verifica
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty("auth.internalClaimsSecret")
+    public InternalClaimsVerifier internalClaimsVerifier(@Value("${auth.internalClaimsSecret}") String secret) {
+        return new InternalClaimsVerifier(secret);
+    }
+}
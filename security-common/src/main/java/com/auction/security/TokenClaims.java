@@ -0,0 +1,46 @@
+package com.auction.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims de un JWT ya verificado. Se obtiene una sola vez por token y
+ * petición; el resto de consultas (usuario, rol, tipo) no vuelven a parsear.
+ */
+public class TokenClaims {
+    private final Claims claims;
+
+    public TokenClaims(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    public String getRole() {
+        return claims.get("role", String.class);
+    }
+
+    public String getEmail() {
+        return claims.get("email", String.class);
+    }
+
+    // "access" o "refresh"; null en tokens legacy
+    public String getType() {
+        return claims.get("type", String.class);
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+}
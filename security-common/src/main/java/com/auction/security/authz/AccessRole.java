@@ -0,0 +1,54 @@
+package com.auction.security.authz;
+
+import java.util.EnumSet;
+
+/**
+ * Roles del claim "role" del JWT, de menor a mayor privilegio.
+ * Cada rol ocupa un bit para que las reglas comparen con una máscara.
+ */
+public enum AccessRole {
+    PARTICIPANTE,
+    MODERADOR,
+    ADMINISTRADOR;
+
+    private final int bit = 1 << ordinal();
+
+    public int bit() {
+        return bit;
+    }
+
+    // null si el claim no corresponde a ningún rol conocido
+    public static AccessRole fromClaim(String role) {
+        if (role == null) {
+            return null;
+        }
+        switch (role) {
+            case "PARTICIPANTE":
+                return PARTICIPANTE;
+            case "MODERADOR":
+                return MODERADOR;
+            case "ADMINISTRADOR":
+                return ADMINISTRADOR;
+            default:
+                return null;
+        }
+    }
+
+    static int mask(EnumSet<AccessRole> roles) {
+        int mask = 0;
+        for (AccessRole role : roles) {
+            mask |= role.bit;
+        }
+        return mask;
+    }
+
+    static EnumSet<AccessRole> fromMask(int mask) {
+        EnumSet<AccessRole> roles = EnumSet.noneOf(AccessRole.class);
+        for (AccessRole role : values()) {
+            if ((mask & role.bit) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+}
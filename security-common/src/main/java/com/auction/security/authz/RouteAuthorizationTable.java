@@ -0,0 +1,145 @@
+package com.auction.security.authz;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabla de autorización por ruta, compilada al arrancar en dos tries de
+ * caracteres: uno anclado al inicio para las rutas públicas (exactas o por
+ * prefijo) y otro que se prueba en cada '/' para los fragmentos de las
+ * reglas, con la misma semántica que path.contains(fragmento). Si varias
+ * reglas coinciden gana la declarada primero. Decidir una petición recorre
+ * la ruta sin crear objetos.
+ */
+public final class RouteAuthorizationTable {
+
+    private final TrieNode publicRoot;
+    private final TrieNode ruleRoot;
+    private final RouteRule[] rules;
+
+    private RouteAuthorizationTable(TrieNode publicRoot, TrieNode ruleRoot, RouteRule[] rules) {
+        this.publicRoot = publicRoot;
+        this.ruleRoot = ruleRoot;
+        this.rules = rules;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * true si la ruta es pública o el rol tiene acceso. Sin rol solo se
+     * permiten rutas públicas; las rutas sin regla no están restringidas.
+     */
+    public boolean isAllowed(String path, String method, String roleClaim) {
+        if (isPublic(path)) {
+            return true;
+        }
+        if (roleClaim == null) {
+            return false;
+        }
+        RouteRule rule = match(path);
+        return rule == null || rule.allows(method, AccessRole.fromClaim(roleClaim));
+    }
+
+    public boolean isPublic(String path) {
+        TrieNode node = publicRoot;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.next(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.publicPrefix) {
+                return true;
+            }
+        }
+        return node.publicExact;
+    }
+
+    // Primera regla (en orden de declaración) cuyo fragmento aparece en la ruta; null si ninguna
+    public RouteRule match(String path) {
+        int best = Integer.MAX_VALUE;
+        for (int start = path.indexOf('/'); start >= 0 && best > 0; start = path.indexOf('/', start + 1)) {
+            TrieNode node = ruleRoot;
+            for (int i = start; i < path.length() && node != null; i++) {
+                node = node.next(path.charAt(i));
+                if (node != null && node.rule >= 0 && node.rule < best) {
+                    best = node.rule;
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : rules[best];
+    }
+
+    public String requiredRole(String path, String method) {
+        RouteRule rule = match(path);
+        return rule != null ? rule.requiredRole(method) : "NONE";
+    }
+
+    public static class Builder {
+        private final TrieNode publicRoot = new TrieNode();
+        private final TrieNode ruleRoot = new TrieNode();
+        private final List<RouteRule> rules = new ArrayList<>();
+
+        public Builder publicPaths(String... paths) {
+            for (String path : paths) {
+                publicRoot.insert(path).publicExact = true;
+            }
+            return this;
+        }
+
+        public Builder publicPrefixes(String... prefixes) {
+            for (String prefix : prefixes) {
+                publicRoot.insert(prefix).publicPrefix = true;
+            }
+            return this;
+        }
+
+        // Fragmentos que empiezan por '/' (por ejemplo "/subastas" o "/admin/users")
+        public Builder route(RouteRule rule, String... fragments) {
+            int index = rules.size();
+            rules.add(rule);
+            for (String fragment : fragments) {
+                if (fragment.isEmpty() || fragment.charAt(0) != '/') {
+                    throw new IllegalArgumentException("El fragmento debe empezar por '/': " + fragment);
+                }
+                TrieNode node = ruleRoot.insert(fragment);
+                if (node.rule < 0) {
+                    node.rule = index;
+                }
+            }
+            return this;
+        }
+
+        public RouteAuthorizationTable build() {
+            return new RouteAuthorizationTable(publicRoot, ruleRoot, rules.toArray(new RouteRule[0]));
+        }
+    }
+
+    // Nodo del trie: hijos indexados por carácter ASCII
+    private static final class TrieNode {
+        private final TrieNode[] children = new TrieNode[128];
+        private boolean publicExact;
+        private boolean publicPrefix;
+        private int rule = -1;
+
+        TrieNode next(char c) {
+            return c < 128 ? children[c] : null;
+        }
+
+        TrieNode insert(String key) {
+            TrieNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (c >= 128) {
+                    throw new IllegalArgumentException("Solo se admiten rutas ASCII: " + key);
+                }
+                if (node.children[c] == null) {
+                    node.children[c] = new TrieNode();
+                }
+                node = node.children[c];
+            }
+            return node;
+        }
+    }
+}
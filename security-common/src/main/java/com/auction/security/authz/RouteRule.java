@@ -0,0 +1,75 @@
+package com.auction.security.authz;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Roles permitidos para un grupo de rutas: un conjunto por defecto y,
+ * opcionalmente, otro distinto para métodos HTTP concretos. Internamente
+ * cada conjunto es una máscara de bits indexada por método.
+ */
+public final class RouteRule {
+
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"};
+    private static final int OTHER = METHODS.length;
+
+    private final int[] masks = new int[METHODS.length + 1];
+
+    private RouteRule(int defaultMask) {
+        Arrays.fill(masks, defaultMask);
+    }
+
+    public static RouteRule allow(AccessRole first, AccessRole... rest) {
+        return new RouteRule(AccessRole.mask(EnumSet.of(first, rest)));
+    }
+
+    // Roles permitidos para un método concreto, en lugar de los de por defecto
+    public RouteRule on(String method, AccessRole first, AccessRole... rest) {
+        int index = methodIndex(method);
+        if (index == OTHER) {
+            throw new IllegalArgumentException("Método HTTP no soportado en reglas: " + method);
+        }
+        masks[index] = AccessRole.mask(EnumSet.of(first, rest));
+        return this;
+    }
+
+    public boolean allows(String method, AccessRole role) {
+        return role != null && (masks[methodIndex(method)] & role.bit()) != 0;
+    }
+
+    public EnumSet<AccessRole> allowedRoles(String method) {
+        return AccessRole.fromMask(masks[methodIndex(method)]);
+    }
+
+    // El rol de menor privilegio que da acceso, para los mensajes de error
+    public String requiredRole(String method) {
+        int mask = masks[methodIndex(method)];
+        return mask == 0 ? "NONE" : AccessRole.values()[Integer.numberOfTrailingZeros(mask)].name();
+    }
+
+    private static int methodIndex(String method) {
+        if (method == null) {
+            return OTHER;
+        }
+        switch (method) {
+            case "GET":
+                return 0;
+            case "HEAD":
+                return 1;
+            case "POST":
+                return 2;
+            case "PUT":
+                return 3;
+            case "PATCH":
+                return 4;
+            case "DELETE":
+                return 5;
+            case "OPTIONS":
+                return 6;
+            case "TRACE":
+                return 7;
+            default:
+                return OTHER;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.auction.security.authz;
+
+/**
+ * Tablas de rutas de los RoleBasedAuthorizationFilter de cada servicio.
+ * Viven aquí, y no en cada filtro, para que el test de equivalencia con las
+ * comprobaciones anteriores pruebe exactamente la tabla que se despliega.
+ */
+public final class ServiceRoutes {
+
+    public static final RouteAuthorizationTable AUTH_SERVICE = RouteAuthorizationTable.builder()
+            .publicPaths("/", "/register", "/login", "/refreshToken", "/validateToken")
+            .publicPrefixes("/auth/login", "/auth/register", "/auth/validateToken",
+                    "/health", "/actuator", "/swagger", "/v3/api-docs", "/internal/revocations/")
+            // API 1.2 - Solo Administrador
+            .route(RouteRule.allow(AccessRole.ADMINISTRADOR), "/admin/users")
+            // API 2 - Solo Moderador y Administrador
+            .route(RouteRule.allow(AccessRole.MODERADOR, AccessRole.ADMINISTRADOR), "/productos", "/subastas")
+            // API 3 y 4 - Participante, Moderador o Administrador
+            .route(RouteRule.allow(AccessRole.PARTICIPANTE, AccessRole.MODERADOR, AccessRole.ADMINISTRADOR),
+                    "/pujas", "/usuarios/me")
+            .build();
+
+    // GET para cualquier usuario autenticado, escritura solo Moderador y Administrador
+    public static final RouteAuthorizationTable AUCTION_SERVICE = RouteAuthorizationTable.builder()
+            .publicPaths("/")
+            .publicPrefixes("/health", "/actuator", "/swagger", "/v3/api-docs")
+            .route(RouteRule.allow(AccessRole.MODERADOR, AccessRole.ADMINISTRADOR)
+                            .on("GET", AccessRole.PARTICIPANTE, AccessRole.MODERADOR, AccessRole.ADMINISTRADOR),
+                    "/auctions", "/products", "/subastas")
+            .build();
+
+    // Pujas para Participante, Moderador o Administrador
+    public static final RouteAuthorizationTable BID_SERVICE = RouteAuthorizationTable.builder()
+            .publicPaths("/")
+            .publicPrefixes("/health", "/actuator", "/swagger", "/v3/api-docs")
+            .route(RouteRule.allow(AccessRole.PARTICIPANTE, AccessRole.MODERADOR, AccessRole.ADMINISTRADOR),
+                    "/bids", "/pujas")
+            .build();
+
+    private ServiceRoutes() {
+    }
+}
@@ -0,0 +1,90 @@
+package com.auction.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de autenticar una petición: el JwtUtils anterior (clave y parser
+ * nuevos en cada llamada, token parseado en validate, username y role)
+ * frente al parser compartido que verifica el token una sola vez.
+ *
+ * Ejecutar con: mvn test-compile exec:java -Dexec.mainClass=com.auction.security.JwtParsingBenchmark
+ * -Dexec.classpathScope=test (o el main desde el IDE).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "mi_super_clave_secreta_para_jwt_2025_con_al_menos_64_caracteres_para_HS512_seguridad_completa";
+
+    private String token;
+    private JwtTokenParser parser;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("participante1")
+                .claim("type", "access")
+                .claim("role", "PARTICIPANTE")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        parser = new JwtTokenParser(SECRET);
+    }
+
+    // Antes: validateJwtToken + getUserNameFromJwtToken + getRoleFromJwtToken, cada uno con su clave y parser
+    @Benchmark
+    public String legacyPerRequest() {
+        legacyParse(token);
+        String username = legacyParse(token).getSubject();
+        String role = legacyParse(token).get("role", String.class);
+        return username + role;
+    }
+
+    // Después: parser compartido y una sola verificación por petición
+    @Benchmark
+    public String sharedParserOncePerRequest() {
+        TokenClaims claims = parser.tryParse(token);
+        return claims.getUsername() + claims.getRole();
+    }
+
+    private Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.auction.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sin falsos negativos, tasa de falsos positivos cercana a la pedida y el
+ * mismo filtro después de serializarlo (lo que descarga el gateway).
+ */
+class RevocationBloomFilterTest {
+
+    private static final int REVOKED = 20000;
+
+    @Test
+    void neverReportsRevokedTokenAsValid() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(REVOKED, 0.01);
+        for (int i = 0; i < REVOKED; i++) {
+            filter.put(TokenDigest.sha256("revocado-" + i));
+        }
+        for (int i = 0; i < REVOKED; i++) {
+            assertTrue(filter.mightContain(TokenDigest.sha256("revocado-" + i)));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(REVOKED, 0.01);
+        for (int i = 0; i < REVOKED; i++) {
+            filter.put(TokenDigest.sha256("revocado-" + i));
+        }
+        int falsePositives = 0;
+        int lookups = 100000;
+        for (int i = 0; i < lookups; i++) {
+            if (filter.mightContain(TokenDigest.sha256("valido-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < lookups * 0.02, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void serializationRoundTrip() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(TokenDigest.sha256("revocado-" + i));
+        }
+        byte[] bytes = filter.toByteArray();
+        RevocationBloomFilter copy = RevocationBloomFilter.fromByteArray(bytes);
+
+        assertArrayEquals(bytes, copy.toByteArray());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(copy.mightContain(TokenDigest.sha256("revocado-" + i)));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> RevocationBloomFilter.fromByteArray(new byte[] {0, 0, 0, 9, 0, 0, 0, 1, 0, 0, 0, 1}));
+    }
+}
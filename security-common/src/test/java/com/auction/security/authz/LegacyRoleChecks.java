@@ -0,0 +1,166 @@
+package com.auction.security.authz;
+
+/**
+ * Copias de las comprobaciones que hacían los RoleBasedAuthorizationFilter de
+ * auth-service, auction-service y bid-service antes de la tabla de rutas, cada
+ * una junto a la tabla de ServiceRoutes que la sustituye en su filtro. Sirven
+ * de referencia para el test de equivalencia.
+ */
+final class LegacyRoleChecks {
+
+    private LegacyRoleChecks() {
+    }
+
+    interface Checks {
+        RouteAuthorizationTable routes();
+
+        boolean hasRequiredRole(String path, String method, String userRole);
+
+        String getRequiredRole(String path, String method);
+
+        boolean isPublicEndpoint(String path);
+    }
+
+    static final Checks AUTH_SERVICE = new Checks() {
+        @Override
+        public RouteAuthorizationTable routes() {
+            return ServiceRoutes.AUTH_SERVICE;
+        }
+
+        @Override
+        public boolean hasRequiredRole(String path, String method, String userRole) {
+            if (isPublicEndpoint(path)) {
+                return true;
+            }
+            if (userRole == null) {
+                return false;
+            }
+            if (path.contains("/admin/users")) {
+                return "ADMINISTRADOR".equals(userRole);
+            }
+            if (path.contains("/productos") || path.contains("/subastas")) {
+                return "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
+            }
+            if (path.contains("/pujas") || path.contains("/usuarios/me")) {
+                return "PARTICIPANTE".equals(userRole) || "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
+            }
+            return true;
+        }
+
+        @Override
+        public String getRequiredRole(String path, String method) {
+            if (path.contains("/admin/users")) {
+                return "ADMINISTRADOR";
+            }
+            if (path.contains("/productos") || path.contains("/subastas")) {
+                return "MODERADOR";
+            }
+            if (path.contains("/pujas") || path.contains("/usuarios/me")) {
+                return "PARTICIPANTE";
+            }
+            return "NONE";
+        }
+
+        @Override
+        public boolean isPublicEndpoint(String path) {
+            return path.equals("/") ||
+                    path.equals("/register") ||
+                    path.equals("/login") ||
+                    path.equals("/refreshToken") ||
+                    path.equals("/validateToken") ||
+                    path.startsWith("/auth/login") ||
+                    path.startsWith("/auth/register") ||
+                    path.startsWith("/auth/validateToken") ||
+                    path.startsWith("/health") ||
+                    path.startsWith("/actuator") ||
+                    path.startsWith("/swagger") ||
+                    path.startsWith("/v3/api-docs") ||
+                    // Consultas internas de revocación del API Gateway, añadidas después de la tabla
+                    path.startsWith("/internal/revocations/");
+        }
+    };
+
+    // GET para cualquier usuario autenticado; el resto de métodos, solo Moderador y Administrador
+    static final Checks AUCTION_SERVICE = new Checks() {
+        @Override
+        public RouteAuthorizationTable routes() {
+            return ServiceRoutes.AUCTION_SERVICE;
+        }
+
+        @Override
+        public boolean hasRequiredRole(String path, String method, String userRole) {
+            if (isPublicEndpoint(path)) {
+                return true;
+            }
+            if (userRole == null) {
+                return false;
+            }
+            if (path.contains("/auctions") || path.contains("/products") || path.contains("/subastas")) {
+                if ("GET".equals(method)) {
+                    return "PARTICIPANTE".equals(userRole) || "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
+                }
+                return "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
+            }
+            return true;
+        }
+
+        @Override
+        public String getRequiredRole(String path, String method) {
+            if (path.contains("/auctions") || path.contains("/products") || path.contains("/subastas")) {
+                if ("GET".equals(method)) {
+                    return "PARTICIPANTE";
+                }
+                return "MODERADOR";
+            }
+            return "NONE";
+        }
+
+        @Override
+        public boolean isPublicEndpoint(String path) {
+            return isCommonPublicEndpoint(path);
+        }
+    };
+
+    static final Checks BID_SERVICE = new Checks() {
+        @Override
+        public RouteAuthorizationTable routes() {
+            return ServiceRoutes.BID_SERVICE;
+        }
+
+        @Override
+        public boolean hasRequiredRole(String path, String method, String userRole) {
+            if (isPublicEndpoint(path)) {
+                return true;
+            }
+            if (userRole == null) {
+                return false;
+            }
+            if (path.contains("/bids") || path.contains("/pujas")) {
+                return "PARTICIPANTE".equals(userRole) || "MODERADOR".equals(userRole) || "ADMINISTRADOR".equals(userRole);
+            }
+            return true;
+        }
+
+        @Override
+        public String getRequiredRole(String path, String method) {
+            if (path.contains("/bids") || path.contains("/pujas")) {
+                return "PARTICIPANTE";
+            }
+            return "NONE";
+        }
+
+        @Override
+        public boolean isPublicEndpoint(String path) {
+            return isCommonPublicEndpoint(path);
+        }
+    };
+
+    // Endpoints públicos de auction-service y bid-service
+    private static boolean isCommonPublicEndpoint(String path) {
+        return path.equals("/") ||
+                path.startsWith("/health") ||
+                path.startsWith("/actuator") ||
+                path.startsWith("/swagger") ||
+                path.startsWith("/v3/api-docs");
+    }
+}
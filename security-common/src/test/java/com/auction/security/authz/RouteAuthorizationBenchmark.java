@@ -0,0 +1,56 @@
+package com.auction.security.authz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de decidir el acceso de una petición en auth-service: la cadena de
+ * contains/startsWith anterior frente a la tabla de rutas compilada, para
+ * las rutas más habituales.
+ *
+ * Ejecutar con: mvn test-compile exec:java -Dexec.mainClass=com.auction.security.authz.RouteAuthorizationBenchmark
+ * -Dexec.classpathScope=test (o el main desde el IDE).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteAuthorizationBenchmark {
+
+    @Param({"/login", "/subastas/42", "/subastas/42/pujas", "/usuarios/me", "/admin/users/7", "/otra/ruta"})
+    private String path;
+
+    private final String method = "GET";
+    private final String role = "PARTICIPANTE";
+
+    @Benchmark
+    public boolean legacyStringChecks() {
+        return LegacyRoleChecks.AUTH_SERVICE.hasRequiredRole(path, method, role);
+    }
+
+    @Benchmark
+    public boolean compiledTable() {
+        return ServiceRoutes.AUTH_SERVICE.isAllowed(path, method, role);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteAuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
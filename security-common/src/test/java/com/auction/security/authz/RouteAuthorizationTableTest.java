@@ -0,0 +1,79 @@
+package com.auction.security.authz;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La tabla de cada servicio (ServiceRoutes, la misma que usa su filtro) debe
+ * decidir exactamente lo mismo que la cadena de contains/startsWith a la que
+ * sustituye.
+ */
+class RouteAuthorizationTableTest {
+
+    private static final String[] PATHS = {
+            "/", "", "/login", "/login/", "/register", "/refreshToken", "/validateToken",
+            "/auth/login", "/auth/register/x", "/auth/validateToken?x", "/auth/me",
+            "/health", "/healthz", "/actuator/prometheus", "/swagger-ui/index.html", "/v3/api-docs",
+            "/admin/users", "/admin/users/5", "/api/admin/users", "/admin/user",
+            "/productos", "/productos/3", "/subastas/1/pujas", "/pujas/admin/users",
+            "/usuarios/me", "/usuarios/mentor", "/usuarios/1", "/pujasx", "/x/subastasy",
+            "//pujas", "/otra/ruta", "/subastas/ñandú", "sin-barra/pujas",
+            "/subastas", "/subastas/pagina", "/auctions/7", "/products", "/x/productsy",
+            "/bids", "/bids/user/ana", "/api/bids", "/subastas/1/bids", "/healthcheck/bids",
+            "/internal/revocations/filter", "/internal/revocations", "/internal/revocationsx/pujas"
+    };
+
+    private static final String[] METHODS = {"GET", "get", "POST", "PUT", "DELETE", "PROPFIND", null};
+
+    private static final String[] ROLES = {"PARTICIPANTE", "MODERADOR", "ADMINISTRADOR", "INVITADO", "", null};
+
+    @Test
+    void authServiceMatchesLegacyChecks() {
+        assertMatchesLegacy(LegacyRoleChecks.AUTH_SERVICE);
+    }
+
+    @Test
+    void auctionServiceMatchesLegacyChecks() {
+        assertMatchesLegacy(LegacyRoleChecks.AUCTION_SERVICE);
+    }
+
+    @Test
+    void bidServiceMatchesLegacyChecks() {
+        assertMatchesLegacy(LegacyRoleChecks.BID_SERVICE);
+    }
+
+    private void assertMatchesLegacy(LegacyRoleChecks.Checks legacy) {
+        RouteAuthorizationTable table = legacy.routes();
+        for (String path : PATHS) {
+            assertEquals(legacy.isPublicEndpoint(path), table.isPublic(path), path);
+            for (String method : METHODS) {
+                assertEquals(legacy.getRequiredRole(path, method), table.requiredRole(path, method),
+                        path + " " + method);
+                for (String role : ROLES) {
+                    assertEquals(legacy.hasRequiredRole(path, method, role),
+                            table.isAllowed(path, method, role), path + " " + method + " " + role);
+                }
+            }
+        }
+    }
+
+    @Test
+    void methodSpecificRoles() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .publicPaths("/")
+                .route(RouteRule.allow(AccessRole.MODERADOR, AccessRole.ADMINISTRADOR)
+                                .on("GET", AccessRole.PARTICIPANTE, AccessRole.MODERADOR, AccessRole.ADMINISTRADOR),
+                        "/subastas")
+                .build();
+
+        assertTrue(table.isAllowed("/subastas/1", "GET", "PARTICIPANTE"));
+        assertFalse(table.isAllowed("/subastas/1", "POST", "PARTICIPANTE"));
+        assertTrue(table.isAllowed("/subastas/1", "DELETE", "MODERADOR"));
+        assertEquals("PARTICIPANTE", table.requiredRole("/subastas", "GET"));
+        assertEquals("MODERADOR", table.requiredRole("/subastas", "PUT"));
+        assertEquals("NONE", table.requiredRole("/pujas", "PUT"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.auction.user.controller;
 
 import com.auction.user.dto.ChangePasswordDto;
+import com.auction.user.dto.UserIdentityDto;
 import com.auction.user.model.User;
 import com.auction.user.service.UserService;
 import com.auction.user.security.JwtUtils;
@@ -14,6 +15,8 @@ import java.util.List;
 @RestController
 @RequestMapping("/users")
 public class UserController {
+    private static final int MAX_BATCH_EMAILS = 500;
+
     private final UserService userService;
     private final JwtUtils jwtUtils;
     private final PasswordEncoder passwordEncoder;
@@ -46,10 +49,7 @@ public class UserController {
 
     @GetMapping("/by-username")
     public ResponseEntity<User> getUserByUsername(@RequestParam String username) {
-        User user = userService.getAllUsers().stream()
-                .filter(u -> u.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+        User user = userService.getUserByUsername(username);
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
@@ -62,10 +62,7 @@ public class UserController {
         System.out.println("Email parameter: " + email);
 
         try {
-            User user = userService.getAllUsers().stream()
-                    .filter(u -> u.getEmail().equals(email))
-                    .findFirst()
-                    .orElse(null);
+            User user = userService.getUserByEmail(email);
 
             System.out.println("User found: " + (user != null));
             if (user != null) {
@@ -85,6 +82,19 @@ public class UserController {
         }
     }
 
+    // Resolución en lote: muchas identidades en un solo viaje (emails desconocidos se omiten).
+    // Requiere token o claims firmados por el gateway y solo devuelve la identidad, nunca la entidad
+    @PostMapping("/by-emails")
+    public ResponseEntity<?> getUsersByEmails(@RequestBody List<String> emails) {
+        if (emails != null && emails.size() > MAX_BATCH_EMAILS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BATCH_EMAILS + " emails per request");
+        }
+        List<UserIdentityDto> identities = userService.getUsersByEmails(emails).stream()
+                .map(UserIdentityDto::new)
+                .toList();
+        return ResponseEntity.ok(identities);
+    }
+
     @DeleteMapping("/{userId}")
     public void deleteUserById(@PathVariable Long userId) {
         userService.deleteUserById(userId);
@@ -111,10 +121,7 @@ public class UserController {
 
     @PostMapping("/internal/login")
     public ResponseEntity<?> loginUser(@RequestBody com.auction.user.dto.UserLoginDto loginDto) {
-        User user = userService.getAllUsers().stream()
-                .filter(u -> u.getEmail().equals(loginDto.getEmail()))
-                .findFirst()
-                .orElse(null);
+        User user = userService.getUserByEmail(loginDto.getEmail());
         if (user == null) {
             return ResponseEntity.status(401).body("Invalid credentials");
         }
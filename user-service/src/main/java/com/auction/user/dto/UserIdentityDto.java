@@ -0,0 +1,39 @@
+package com.auction.user.dto;
+
+import com.auction.user.model.User;
+
+// Identidad mínima para resoluciones en lote: sin contraseña ni datos personales
+public class UserIdentityDto {
+    private Long id;
+    private String username;
+    private String email;
+    private User.Role role;
+    private Boolean isActive;
+
+    // Constructors
+    public UserIdentityDto() {}
+
+    public UserIdentityDto(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.isActive = user.getIsActive();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public User.Role getRole() { return role; }
+    public void setRole(User.Role role) { this.role = role; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+}
@@ -0,0 +1,15 @@
+package com.auction.user.model;
+
+import com.auction.outbox.OutboxEventBase;
+import jakarta.persistence.*;
+
+/**
+ * Evento de cambio de usuario pendiente de publicar. Se escribe en la misma
+ * transacción que el cambio y lo publica UserOutboxRelay (al menos una vez).
+ */
+@Entity
+@Table(name = "user_outbox", indexes = {
+        @Index(name = "idx_user_outbox_pending", columnList = "published_at, id")
+})
+public class UserOutboxEvent extends OutboxEventBase {
+}
@@ -0,0 +1,9 @@
+package com.auction.user.repository;
+
+import com.auction.outbox.OutboxRepository;
+import com.auction.user.model.UserOutboxEvent;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserOutboxEventRepository extends OutboxRepository<UserOutboxEvent> {
+}
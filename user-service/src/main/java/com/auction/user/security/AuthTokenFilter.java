@@ -1,5 +1,6 @@
 package com.auction.user.security;
 
+import com.auction.security.InternalClaimsVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
+    @Autowired
+    private InternalClaimsVerifier internalClaimsVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -27,10 +30,17 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String path = request.getRequestURI();
 
-            String jwt = parseJwt(request);
+            // Los claims firmados por el API Gateway evitan volver a verificar el JWT
+            InternalClaimsVerifier.InternalClaims claims = internalClaimsVerifier.verify(request);
+            String username = claims != null ? claims.getUsername() : null;
+            if (username == null) {
+                String jwt = parseJwt(request);
+                if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+                    username = jwtUtils.getUserNameFromJwtToken(jwt);
+                }
+            }
 
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            if (username != null) {
 
                 UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
 
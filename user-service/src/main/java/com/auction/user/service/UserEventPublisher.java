@@ -0,0 +1,59 @@
+package com.auction.user.service;
+
+import com.auction.user.dto.UserChangedEventDto;
+import com.auction.user.model.User;
+import com.auction.user.model.UserOutboxEvent;
+import com.auction.user.repository.UserOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra los cambios de usuario en el outbox (user_outbox); UserOutboxRelay
+ * los publica en el exchange de usuarios con routing key "user.<tipo>".
+ */
+@Component
+public class UserEventPublisher {
+
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String PASSWORD_CHANGED = "password-changed";
+
+    private final UserOutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public UserEventPublisher(UserOutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Debe llamarse dentro de la transacción que guarda el cambio: si falla, el cambio tampoco se confirma
+    public void publish(String eventType, User user, String previousEmail) {
+        UserChangedEventDto event = new UserChangedEventDto();
+        event.setEventType(eventType);
+        event.setUserId(user.getId());
+        event.setEmail(user.getEmail());
+        event.setPreviousEmail(previousEmail);
+        event.setUsername(user.getUsername());
+        event.setRole(user.getRole() != null ? user.getRole().name() : null);
+        event.setActive(user.getIsActive());
+        event.setOccurredAt(LocalDateTime.now());
+
+        UserOutboxEvent outboxEvent = new UserOutboxEvent();
+        outboxEvent.setAggregateId(user.getId());
+        outboxEvent.setEventType("user." + eventType);
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(event.getOccurredAt());
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(UserChangedEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing user event", e);
+        }
+    }
+}
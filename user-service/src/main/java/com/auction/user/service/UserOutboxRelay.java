@@ -0,0 +1,42 @@
+package com.auction.user.service;
+
+import com.auction.outbox.OutboxRelay;
+import com.auction.user.model.UserOutboxEvent;
+import com.auction.user.repository.UserOutboxEventRepository;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publica el outbox de user-service con el relay compartido (outbox-common):
+ * por lotes, con publisher confirms y al menos una vez, en orden de id.
+ */
+@Component
+public class UserOutboxRelay {
+
+    private final OutboxRelay<UserOutboxEvent> relay;
+
+    @Value("${users.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public UserOutboxRelay(UserOutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                           @Value("${rabbitmq.exchange.user}") String userExchange,
+                           @Value("${users.outbox.batch-size:200}") int batchSize,
+                           @Value("${users.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.relay = new OutboxRelay<>(outboxEventRepository, rabbitTemplate, userExchange, "user",
+                batchSize, confirmTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${users.outbox.relay-ms:100}")
+    public void relay() {
+        relay.relay();
+    }
+
+    @Scheduled(fixedDelayString = "${users.outbox.purge-ms:3600000}")
+    public void purgePublished() {
+        relay.purgePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
@@ -14,6 +14,9 @@ public interface UserService {
     boolean existsByEmail(String email);
     User createUser(User user);
     User getUserById(Long id);
+    User getUserByEmail(String email);
+    User getUserByUsername(String username);
+    List<User> getUsersByEmails(List<String> emails);
     User updateUser(Long userId, User userUpdate);
     Page<User> getAllUsersPaginated(Pageable pageable, String search);
 }
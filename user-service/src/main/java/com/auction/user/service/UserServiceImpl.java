@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.HashSet;
 import java.util.List;
 
 @Service
@@ -14,11 +16,32 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
 
+    @Autowired
+    private UserEventPublisher userEventPublisher;
+
     @Override
     public User getUserById(Long id) {
         return userRepository.findById(id).orElse(null);
     }
 
+    @Override
+    public User getUserByEmail(String email) {
+        return userRepository.findByEmail(email).orElse(null);
+    }
+
+    @Override
+    public User getUserByUsername(String username) {
+        return userRepository.findByUsername(username).orElse(null);
+    }
+
+    @Override
+    public List<User> getUsersByEmails(List<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findByEmailIn(new HashSet<>(emails));
+    }
+
     @Autowired
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder encoder) {
         this.userRepository = userRepository;
@@ -26,9 +49,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public User updateUser(Long userId, User userUpdate) {
         User existingUser = userRepository.findById(userId).orElse(null);
         if (existingUser != null) {
+            String previousEmail = existingUser.getEmail();
             if (userUpdate.getUsername() != null) {
                 existingUser.setUsername(userUpdate.getUsername());
             }
@@ -50,7 +75,10 @@ public class UserServiceImpl implements UserService {
             if (userUpdate.getIsActive() != null) {
                 existingUser.setIsActive(userUpdate.getIsActive());
             }
-            return userRepository.save(existingUser);
+            User savedUser = userRepository.save(existingUser);
+            userEventPublisher.publish(UserEventPublisher.UPDATED, savedUser,
+                    previousEmail.equals(savedUser.getEmail()) ? null : previousEmail);
+            return savedUser;
         }
         return null;
     }
@@ -65,16 +93,22 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUserById(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            userEventPublisher.publish(UserEventPublisher.DELETED, user, null);
+        });
     }
 
     @Override
+    @Transactional
     public void changePassword(Long userId, String oldPassword, String newPassword) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         if (encoder.matches(oldPassword, user.getPassword())) {
             user.setPassword(encoder.encode(newPassword));
             userRepository.save(user);
+            userEventPublisher.publish(UserEventPublisher.PASSWORD_CHANGED, user, null);
         } else {
             throw new RuntimeException("Old password is incorrect");
         }